@@ -0,0 +1,63 @@
+package minesweeper.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import minesweeper.MineSweeperGame;
+
+/*******************************************************************************
+ * BoardSetupBenchmark measures building boards: creating a MineSweeperGame,
+ * resetting it (which lays mines and counts neighbors) and recounting the
+ * neighbors of every cell, across board sizes and mine densities.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardSetupBenchmark {
+
+	/** the number of rows and columns of the board */
+	@Param({ "20", "200", "2000" })
+	public int size;
+
+	/** the fraction of cells that are mines */
+	@Param({ "0.1", "0.2", "0.5" })
+	public double density;
+
+	/** the number of mines laid on the board */
+	private int numMines;
+
+	/** a game kept between invocations for reset and findNeighbors */
+	private MineSweeperGame game;
+
+	/** the seed of the next board laid out by reset */
+	private long seed;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		numMines = (int) (size * size * density);
+		game = new MineSweeperGame(size, size, numMines, 42L);
+	}
+
+	@Benchmark
+	public MineSweeperGame construct() {
+		return new MineSweeperGame(size, size, numMines, 42L);
+	}
+
+	@Benchmark
+	public long reset() {
+		game.reset(seed++);
+		return game.getSeed();
+	}
+
+	@Benchmark
+	public MineSweeperGame findNeighbors() {
+		game.findNeighbors();
+		return game;
+	}
+}
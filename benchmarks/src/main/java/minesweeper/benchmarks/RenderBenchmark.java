@@ -0,0 +1,86 @@
+package minesweeper.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.ImageIcon;
+
+import org.openjdk.jmh.annotations.*;
+
+import minesweeper.BoardView;
+import minesweeper.MineSweeperGame;
+
+/*******************************************************************************
+ * RenderBenchmark measures painting the board, the work displayBoard hands
+ * to BoardView, into an offscreen image under a headless toolkit. It paints a
+ * 20 x 20 cell window, as the viewport does, and a single cell, as a repaint
+ * after a single reveal does, on boards of growing size.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+	/** the number of cells painted each way in a full window */
+	private static final int WINDOW_CELLS = 20;
+
+	/** the number of rows and columns of the board */
+	@Param({ "20", "200", "2000" })
+	public int size;
+
+	/** the board being painted */
+	private BoardView view;
+
+	/** the image painted into */
+	private BufferedImage image;
+
+	/** the graphics of the image */
+	private Graphics2D graphics;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		MineSweeperGame game = new MineSweeperGame(size, size, size * size / 6, 42L);
+
+		// expose part of the board so numbers and flat cells get painted too
+		for (int r = 0; r < size; r += 3)
+			for (int c = 0; c < size; c += 3)
+				if (!game.getCell(r, c).isMine())
+					game.select(r, c);
+
+		view = new BoardView(game, size, size, new ImageIcon(), new ImageIcon());
+		view.setSize(view.getPreferredSize());
+
+		image = new BufferedImage(WINDOW_CELLS * BoardView.CELL_WIDTH,
+				WINDOW_CELLS * BoardView.CELL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+		graphics = image.createGraphics();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage paintWindow() {
+		Graphics2D g = (Graphics2D) graphics.create(0, 0, image.getWidth(),
+				image.getHeight());
+		view.paint(g);
+		g.dispose();
+		return image;
+	}
+
+	@Benchmark
+	public BufferedImage paintCell() {
+		Graphics2D g = (Graphics2D) graphics.create(0, 0,
+				BoardView.CELL_WIDTH, BoardView.CELL_HEIGHT);
+		view.paint(g);
+		g.dispose();
+		return image;
+	}
+}
@@ -0,0 +1,92 @@
+package minesweeper.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import minesweeper.Cell;
+import minesweeper.ChangeSet;
+import minesweeper.GameStatus;
+import minesweeper.MineSweeperGame;
+
+/*******************************************************************************
+ * SelectBenchmark measures clicks on a fresh board: an opening click on a
+ * blank cell that cascades, a click on a numbered cell that reveals just that
+ * cell, and the win/loss check made after every click. The same seeded board
+ * is restored before each invocation so every click does the same work.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectBenchmark {
+
+	/** the seed of the board every click is made on */
+	private static final long SEED = 42L;
+
+	/** the number of rows and columns of the board */
+	@Param({ "20", "200", "2000" })
+	public int size;
+
+	/** the fraction of cells that are mines */
+	@Param({ "0.1", "0.2" })
+	public double density;
+
+	/** the game clicked on */
+	private MineSweeperGame game;
+
+	/** row and column of a blank cell, which starts a cascade */
+	private int blankRow, blankCol;
+
+	/** row and column of a numbered cell, which reveals only itself */
+	private int numberRow, numberCol;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		game = new MineSweeperGame(size, size, (int) (size * size * density));
+		game.reset(SEED);
+
+		blankRow = -1;
+		numberRow = -1;
+		for (int r = 0; r < size; r++)
+			for (int c = 0; c < size; c++) {
+				Cell cell = game.getCell(r, c);
+				if (cell.isMine())
+					continue;
+				if (cell.getMinecount() == 0 && blankRow < 0) {
+					blankRow = r;
+					blankCol = c;
+				} else if (cell.getMinecount() > 0 && numberRow < 0) {
+					numberRow = r;
+					numberCol = c;
+				}
+			}
+		if (blankRow < 0 || numberRow < 0)
+			throw new IllegalStateException("board has no blank or numbered cell");
+	}
+
+	@Setup(Level.Invocation)
+	public void restoreBoard() {
+		game.reset(SEED);
+	}
+
+	@Benchmark
+	public ChangeSet openingClick() {
+		return game.select(blankRow, blankCol);
+	}
+
+	@Benchmark
+	public ChangeSet singleReveal() {
+		return game.select(numberRow, numberCol);
+	}
+
+	@Benchmark
+	public GameStatus setGameStatus() {
+		game.setGameStatus();
+		return game.getGameStatus();
+	}
+}
@@ -0,0 +1,510 @@
+package minesweeper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/*******************************************************************************
+ * Board stores the state of every cell of the Minesweeper board packed into a
+ * single byte per cell. The low four bits hold the number of neighboring
+ * mines and the upper bits mark whether the cell is a mine, is flagged and is
+ * exposed. Cells are addressed by index (row * cols + col). Which cells are
+ * neighbors is up to the board's Topology.
+ *
+ * Board also keeps running counts of mines, unexposed safe cells and correct
+ * and wrong flags, updated on every change, so whether the game is won can be
+ * answered without scanning the cells.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class Board {
+
+	/** bits holding the number of neighboring mines */
+	static final int COUNT_MASK = 0x0F;
+
+	/** bit set when the cell is a mine */
+	static final int MINE = 0x10;
+
+	/** bit set when the cell is flagged */
+	static final int FLAG = 0x20;
+
+	/** bit set when the cell is exposed */
+	static final int EXPOSED = 0x40;
+
+	/** atomic access to the cells, for boards shared between threads */
+	private static final VarHandle CELLS = MethodHandles
+			.arrayElementVarHandle(byte[].class);
+
+	/** one byte of packed state for each cell */
+	private final byte[] cells;
+
+	/** which cells are neighbors */
+	private final Topology topology;
+
+	/** the number of rows on the board */
+	private final int rows;
+
+	/** the number of columns on the board */
+	private final int cols;
+
+	/** the number of mines on the board */
+	private int mineCount;
+
+	/** the number of cells that are not mines and are not exposed */
+	private int unexposedSafeCount;
+
+	/** the number of flagged cells that are mines */
+	private int correctFlagCount;
+
+	/** the number of flagged cells that are not mines */
+	private int wrongFlagCount;
+
+	/***************************************************************************
+	 * Constructor for Board: creates a square board with every cell blank,
+	 * not a mine and not exposed
+	 *
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 **************************************************************************/
+	public Board(int rows, int cols) {
+		this(Topology.square(rows, cols));
+	}
+
+	/***************************************************************************
+	 * Constructor for Board: creates a board of any shape with every cell
+	 * blank, not a mine and not exposed
+	 *
+	 * @param topology
+	 *            the size of the board and which of its cells are neighbors
+	 **************************************************************************/
+	public Board(Topology topology) {
+		this.topology = topology;
+		this.rows = topology.getRows();
+		this.cols = topology.getCols();
+		this.cells = new byte[topology.size()];
+		this.unexposedSafeCount = cells.length;
+	}
+
+	/***************************************************************************
+	 * Clears every cell in place so the board can be reused for a new game
+	 **************************************************************************/
+	public void clear() {
+		Arrays.fill(cells, (byte) 0);
+		mineCount = 0;
+		unexposedSafeCount = cells.length;
+		correctFlagCount = 0;
+		wrongFlagCount = 0;
+	}
+
+	/***************************************************************************
+	 * Gets the number of rows
+	 *
+	 * @return the number of rows on the board
+	 **************************************************************************/
+	public int getRows() {
+		return rows;
+	}
+
+	/***************************************************************************
+	 * Gets the number of columns
+	 *
+	 * @return the number of columns on the board
+	 **************************************************************************/
+	public int getCols() {
+		return cols;
+	}
+
+	/***************************************************************************
+	 * Getter method for topology
+	 **************************************************************************/
+	public Topology getTopology() {
+		return topology;
+	}
+
+	/***************************************************************************
+	 * Gets the total number of cells
+	 *
+	 * @return the number of cells on the board
+	 **************************************************************************/
+	public int size() {
+		return cells.length;
+	}
+
+	/***************************************************************************
+	 * Gets the index of a cell
+	 *
+	 * @param row
+	 *            the row the cell is in
+	 * @param col
+	 *            the column the cell is in
+	 * @return the index of the cell
+	 **************************************************************************/
+	public int index(int row, int col) {
+		return row * cols + col;
+	}
+
+	/***************************************************************************
+	 * Gets the number of neighboring mines of a cell
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @return the number of neighboring mines
+	 **************************************************************************/
+	public int getMinecount(int index) {
+		return cells[index] & COUNT_MASK;
+	}
+
+	/***************************************************************************
+	 * Sets the number of neighboring mines of a cell
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param minecount
+	 *            the number of neighboring mines
+	 **************************************************************************/
+	public void setMinecount(int index, int minecount) {
+		cells[index] = (byte) ((cells[index] & ~COUNT_MASK) | minecount);
+	}
+
+	/***************************************************************************
+	 * Computes the number of neighboring mines of every cell. Every count is
+	 * cleared, then each mine adds one to the counts of its neighbors.
+	 *
+	 * A square board is done in one pass instead, without asking for each
+	 * cell's neighbors: each row is first reduced to sums of three horizontally
+	 * adjacent mine bits, and a cell's count is the sum of those for the rows
+	 * above, at and below it, minus the cell itself. Only three rows of sums
+	 * are kept at a time.
+	 **************************************************************************/
+	public void computeMinecounts() {
+		if (topology.getShape() != BoardShape.Square) {
+			int[] around = new int[Topology.MAX_NEIGHBORS];
+			for (int i = 0; i < cells.length; i++)
+				cells[i] &= ~COUNT_MASK;
+			for (int i = 0; i < cells.length; i++) {
+				if ((cells[i] & MINE) == 0)
+					continue;
+				int count = topology.neighbors(i, around);
+				for (int k = 0; k < count; k++)
+					cells[around[k]]++;
+			}
+			return;
+		}
+
+		int[] above = new int[cols];
+		int[] current = new int[cols];
+		int[] below = new int[cols];
+
+		rowSums(0, current);
+		for (int r = 0; r < rows; r++) {
+			if (r + 1 < rows)
+				rowSums(r + 1, below);
+			else
+				Arrays.fill(below, 0);
+
+			int base = r * cols;
+			for (int c = 0; c < cols; c++) {
+				int state = cells[base + c];
+				int count = above[c] + current[c] + below[c] - ((state & MINE) >> 4);
+				cells[base + c] = (byte) ((state & ~COUNT_MASK) | count);
+			}
+
+			// slide the three row window down by one
+			int[] spare = above;
+			above = current;
+			current = below;
+			below = spare;
+		}
+	}
+
+	/***************************************************************************
+	 * Sums the mine bits of each cell of a row with its left and right
+	 * neighbors
+	 *
+	 * @param row
+	 *            the row to sum
+	 * @param sums
+	 *            filled with the sum for each column
+	 **************************************************************************/
+	private void rowSums(int row, int[] sums) {
+		int base = row * cols;
+		int left = 0;
+		int middle = (cells[base] & MINE) >> 4;
+		for (int c = 0; c < cols; c++) {
+			int right = c + 1 < cols ? (cells[base + c + 1] & MINE) >> 4 : 0;
+			sums[c] = left + middle + right;
+			left = middle;
+			middle = right;
+		}
+	}
+
+	/***************************************************************************
+	 * Moves a mine to another cell, updating only the neighbor counts around
+	 * the two cells involved
+	 *
+	 * @param from
+	 *            the index of the mine to move
+	 * @param to
+	 *            the index of the cell to place it on, which must not be a mine
+	 **************************************************************************/
+	public void moveMine(int from, int to) {
+		setMine(from, false);
+		adjustNeighborCounts(from, -1);
+		setMine(to, true);
+		adjustNeighborCounts(to, 1);
+	}
+
+	/***************************************************************************
+	 * Adds to the neighboring mine count of each cell around a cell
+	 *
+	 * @param index
+	 *            the index of the cell whose neighbors change
+	 * @param delta
+	 *            the amount to add to each neighbor's count
+	 **************************************************************************/
+	private void adjustNeighborCounts(int index, int delta) {
+		int[] around = new int[Topology.MAX_NEIGHBORS];
+		int count = topology.neighbors(index, around);
+		for (int k = 0; k < count; k++)
+			cells[around[k]] += delta;
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell is a mine
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @return true if the cell is a mine
+	 **************************************************************************/
+	public boolean isMine(int index) {
+		return (cells[index] & MINE) != 0;
+	}
+
+	/***************************************************************************
+	 * Sets whether a cell is a mine
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param mine
+	 *            true to make the cell a mine
+	 **************************************************************************/
+	public void setMine(int index, boolean mine) {
+		setBit(index, MINE, mine);
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell is flagged
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @return true if the cell is flagged
+	 **************************************************************************/
+	public boolean isFlagged(int index) {
+		return (cells[index] & FLAG) != 0;
+	}
+
+	/***************************************************************************
+	 * Sets whether a cell is flagged
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param flagged
+	 *            true to flag the cell
+	 **************************************************************************/
+	public void setFlagged(int index, boolean flagged) {
+		setBit(index, FLAG, flagged);
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell is exposed
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @return true if the cell is exposed
+	 **************************************************************************/
+	public boolean isExposed(int index) {
+		return (cells[index] & EXPOSED) != 0;
+	}
+
+	/***************************************************************************
+	 * Sets whether a cell is exposed
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param exposed
+	 *            true to expose the cell
+	 **************************************************************************/
+	public void setExposed(int index, boolean exposed) {
+		setBit(index, EXPOSED, exposed);
+	}
+
+	/***************************************************************************
+	 * Sets or clears one of the state bits of a cell
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param bit
+	 *            the bit to change
+	 * @param on
+	 *            true to set the bit, false to clear it
+	 **************************************************************************/
+	private void setBit(int index, int bit, boolean on) {
+		int old = cells[index];
+		int state = on ? old | bit : old & ~bit;
+		if (state == old)
+			return;
+
+		// take the old state out of the counts and put the new one in
+		count(old, -1);
+		count(state, 1);
+		cells[index] = (byte) state;
+	}
+
+	/***************************************************************************
+	 * Reads the packed state of a cell, seeing every change made to it by
+	 * compareAndSetState on any thread
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @return the packed state
+	 **************************************************************************/
+	int getState(int index) {
+		return (byte) CELLS.getAcquire(cells, index);
+	}
+
+	/***************************************************************************
+	 * Changes the packed state of a cell atomically, if no other thread has
+	 * changed it first. The running counts are not kept up to date; a board
+	 * changed this way keeps its own, as CooperativeGame does.
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param expected
+	 *            the state the cell must still be in
+	 * @param state
+	 *            the new state
+	 * @return true if the cell was changed, false if its state was not the
+	 *         one expected
+	 **************************************************************************/
+	boolean compareAndSetState(int index, int expected, int state) {
+		return CELLS.compareAndSet(cells, index, (byte) expected, (byte) state);
+	}
+
+	/***************************************************************************
+	 * Packs one state bit of 64 cells into a long, the first cell in the
+	 * lowest bit. Cells past the end of the board read as 0.
+	 *
+	 * @param bit
+	 *            the state bit: MINE, FLAG or EXPOSED
+	 * @param start
+	 *            the index of the first cell
+	 * @return the bits of the cells
+	 **************************************************************************/
+	long getBits(int bit, int start) {
+		long bits = 0;
+		int end = Math.min(start + 64, cells.length);
+		for (int i = end - 1; i >= start; i--)
+			bits = bits << 1 | ((cells[i] & bit) != 0 ? 1 : 0);
+		return bits;
+	}
+
+	/***************************************************************************
+	 * Sets one state bit of 64 cells from a long, the first cell in the lowest
+	 * bit. The running counts are not kept up to date; call recount once
+	 * every bit is set.
+	 *
+	 * @param bit
+	 *            the state bit: MINE, FLAG or EXPOSED
+	 * @param start
+	 *            the index of the first cell
+	 * @param bits
+	 *            the bits of the cells
+	 **************************************************************************/
+	void setBits(int bit, int start, long bits) {
+		int end = Math.min(start + 64, cells.length);
+		for (int i = start; i < end; i++, bits >>>= 1)
+			cells[i] = (byte) ((bits & 1) != 0 ? cells[i] | bit : cells[i] & ~bit);
+	}
+
+	/***************************************************************************
+	 * Works out the running counts again from the state of every cell
+	 **************************************************************************/
+	void recount() {
+		mineCount = 0;
+		unexposedSafeCount = 0;
+		correctFlagCount = 0;
+		wrongFlagCount = 0;
+		for (byte state : cells)
+			count(state, 1);
+	}
+
+	/***************************************************************************
+	 * Adds the contribution of one cell state to the running counts
+	 *
+	 * @param state
+	 *            the packed state of the cell
+	 * @param delta
+	 *            1 to add the cell, -1 to remove it
+	 **************************************************************************/
+	private void count(int state, int delta) {
+		if ((state & MINE) != 0) {
+			mineCount += delta;
+			if ((state & FLAG) != 0)
+				correctFlagCount += delta;
+		} else {
+			if ((state & EXPOSED) == 0)
+				unexposedSafeCount += delta;
+			if ((state & FLAG) != 0)
+				wrongFlagCount += delta;
+		}
+	}
+
+	/***************************************************************************
+	 * Gets the number of mines on the board
+	 *
+	 * @return the number of mines
+	 **************************************************************************/
+	public int getMineCount() {
+		return mineCount;
+	}
+
+	/***************************************************************************
+	 * Gets the number of cells that are neither mines nor exposed
+	 *
+	 * @return the number of safe cells still to be exposed
+	 **************************************************************************/
+	public int getUnexposedSafeCount() {
+		return unexposedSafeCount;
+	}
+
+	/***************************************************************************
+	 * Gets the number of flagged mines
+	 *
+	 * @return the number of flags placed on mines
+	 **************************************************************************/
+	public int getCorrectFlagCount() {
+		return correctFlagCount;
+	}
+
+	/***************************************************************************
+	 * Gets the number of flagged cells that are not mines
+	 *
+	 * @return the number of flags placed on safe cells
+	 **************************************************************************/
+	public int getWrongFlagCount() {
+		return wrongFlagCount;
+	}
+
+	/***************************************************************************
+	 * Checks whether the board is cleared: every safe cell is exposed, or
+	 * every mine (and no other cell) is flagged
+	 *
+	 * @return true if the board is cleared
+	 **************************************************************************/
+	public boolean isCleared() {
+		return unexposedSafeCount == 0
+				|| (correctFlagCount == mineCount && wrongFlagCount == 0);
+	}
+}
@@ -0,0 +1,259 @@
+package minesweeper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*******************************************************************************
+ * BoardPool keeps a few boards of one size, number of mines and mode laid out
+ * ahead of time, so a game can reset by swapping in a finished board rather
+ * than laying out mines while the player waits. A background thread lays out
+ * a new board whenever one is taken, reusing the boards games hand back.
+ *
+ * There is one pool for each kind of board, shared by every game, so a new
+ * window with the same settings starts from a board that is already laid out.
+ * The number of boards kept is limited by their total size, and only the
+ * pools of the kinds of board asked for most recently are kept: the oldest
+ * is closed when another is started, and its games lay out their own boards
+ * from then on.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class BoardPool {
+
+	/** the most boards kept ready in one pool */
+	private static final int MAX_BOARDS = 4;
+
+	/** the most cells kept ready in one pool; one board is always kept */
+	private static final long MAX_CELLS = 1 << 24;
+
+	/** how long the background search for a no-guess board may take */
+	private static final long SEARCH_TIME_LIMIT_MILLIS = 5000;
+
+	/** the most pools kept running at once */
+	private static final int MAX_POOLS = 4;
+
+	/** the pool for each kind of board, the one asked for longest ago first */
+	private static final Map<String, BoardPool> POOLS = new LinkedHashMap<>(16,
+			0.75f, true);
+
+	private final int rows;
+	private final int cols;
+	private final int numMines;
+	private final GenerationMode mode;
+
+	/** boards laid out and waiting to be played */
+	private final BlockingQueue<Entry> ready;
+
+	/** boards handed back, to be laid out again */
+	private final BlockingQueue<Board> spare;
+
+	/** lays out the boards, on the background thread only */
+	private MineSweeperGame layout;
+
+	/** the background thread */
+	private final ExecutorService worker;
+
+	/** true while the background thread is filling the pool */
+	private final AtomicBoolean filling = new AtomicBoolean();
+
+	/** true once the pool has been closed to make room for another */
+	private volatile boolean closed;
+
+	/***************************************************************************
+	 * Gets the pool for a kind of board, starting it if there is none yet
+	 *
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param numMines
+	 *            the number of mines on the board
+	 * @param mode
+	 *            how the board is laid out
+	 * @return the pool
+	 **************************************************************************/
+	public static synchronized BoardPool of(int rows, int cols, int numMines,
+			GenerationMode mode) {
+		String key = rows + "x" + cols + "/" + numMines + "/" + mode;
+		BoardPool pool = POOLS.get(key);
+		if (pool != null)
+			return pool;
+
+		Iterator<BoardPool> oldest = POOLS.values().iterator();
+		while (POOLS.size() >= MAX_POOLS) {
+			oldest.next().close();
+			oldest.remove();
+		}
+		pool = new BoardPool(rows, cols, numMines, mode);
+		POOLS.put(key, pool);
+		return pool;
+	}
+
+	/***************************************************************************
+	 * Constructor for BoardPool: starts laying out boards straight away
+	 **************************************************************************/
+	private BoardPool(int rows, int cols, int numMines, GenerationMode mode) {
+		this.rows = rows;
+		this.cols = cols;
+		this.numMines = numMines;
+		this.mode = mode;
+
+		int capacity = (int) Math.max(1,
+				Math.min(MAX_BOARDS, MAX_CELLS / ((long) rows * cols)));
+		this.ready = new ArrayBlockingQueue<>(capacity);
+		this.spare = new ArrayBlockingQueue<>(capacity);
+
+		this.worker = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "board-pool " + rows + "x" + cols);
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+		refill();
+	}
+
+	/***************************************************************************
+	 * Gets the number of rows on the boards
+	 *
+	 * @return the number of rows on the boards
+	 **************************************************************************/
+	public int getRows() {
+		return rows;
+	}
+
+	/***************************************************************************
+	 * Gets the number of columns on the boards
+	 *
+	 * @return the number of columns on the boards
+	 **************************************************************************/
+	public int getCols() {
+		return cols;
+	}
+
+	/***************************************************************************
+	 * Gets the number of mines on the boards
+	 *
+	 * @return the number of mines on the boards
+	 **************************************************************************/
+	public int getNumMines() {
+		return numMines;
+	}
+
+	/***************************************************************************
+	 * Gets how the boards are laid out
+	 *
+	 * @return how the boards are laid out
+	 **************************************************************************/
+	public GenerationMode getMode() {
+		return mode;
+	}
+
+	/***************************************************************************
+	 * Takes a ready board, if there is one, and has another laid out in its
+	 * place
+	 *
+	 * @return the board, its seed and status, or null if none is ready
+	 **************************************************************************/
+	Entry poll() {
+		if (closed)
+			return null;
+		Entry next = ready.poll();
+		refill();
+		return next;
+	}
+
+	/***************************************************************************
+	 * Hands back a board that is no longer played, to be laid out again. The
+	 * board is dropped if enough are waiting already.
+	 *
+	 * @param board
+	 *            the board
+	 **************************************************************************/
+	void recycle(Board board) {
+		if (!closed)
+			spare.offer(board);
+	}
+
+	/***************************************************************************
+	 * Stops laying out boards and lets go of those kept, as when the pool
+	 * makes way for another
+	 **************************************************************************/
+	private void close() {
+		closed = true;
+		worker.shutdownNow();
+		ready.clear();
+		spare.clear();
+	}
+
+	/***************************************************************************
+	 * Starts the background thread filling the pool, unless it already is
+	 **************************************************************************/
+	private void refill() {
+		if (!closed && ready.remainingCapacity() > 0
+				&& filling.compareAndSet(false, true))
+			worker.execute(this::fill);
+	}
+
+	/***************************************************************************
+	 * Lays out boards until the pool is full
+	 **************************************************************************/
+	private void fill() {
+		try {
+			while (!closed && ready.remainingCapacity() > 0)
+				ready.offer(layOut());
+		} finally {
+			filling.set(false);
+		}
+
+		// a board may have been taken after the check but before the flag
+		// was cleared
+		refill();
+	}
+
+	/***************************************************************************
+	 * Lays out the next board, on a board handed back if there is one
+	 *
+	 * @return the board, its seed and status
+	 **************************************************************************/
+	private Entry layOut() {
+		if (layout == null) {
+
+			// set up before the first board is laid out, so it is searched
+			// like the rest and isn't timed as a player's moves
+			layout = new MineSweeperGame(new Board(rows, cols), numMines,
+					new SplittableRandom().nextLong(), mode, GameStatus.NotOverYet,
+					0, 0);
+			layout.setInstrumented(false);
+			layout.setGenerationTimeLimit(SEARCH_TIME_LIMIT_MILLIS);
+		} else {
+			Board empty = spare.poll();
+			layout.replaceBoard(empty != null ? empty : new Board(rows, cols));
+		}
+		layout.reset();
+		return new Entry(layout.getBoard(), layout.getSeed(),
+				layout.getGameStatus());
+	}
+
+	/***************************************************************************
+	 * A board laid out ahead of time, with the seed it was laid out from and
+	 * the status laying it out left the game in
+	 **************************************************************************/
+	static class Entry {
+		final Board board;
+		final long seed;
+		final GameStatus status;
+
+		Entry(Board board, long seed, GameStatus status) {
+			this.board = board;
+			this.seed = seed;
+			this.status = status;
+		}
+	}
+}
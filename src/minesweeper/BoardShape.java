@@ -0,0 +1,16 @@
+package minesweeper;
+
+/*******************************************************************************
+ * BoardShape provides an enum of the ways the cells of a board can neighbor
+ * each other.
+ * 		Square: the eight cells around, stopping at the edges
+ * 		Torus: the eight cells around, wrapping from each edge to the opposite
+ * 		Hex: the six cells of a hexagonal grid, odd rows shifted half a cell
+ * 		right
+ * 		Graph: any mutual neighbors given cell by cell
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public enum BoardShape {
+	Square, Torus, Hex, Graph
+}
@@ -0,0 +1,361 @@
+package minesweeper;
+
+import javax.swing.*;
+import java.awt.*;
+
+/*******************************************************************************
+ * BoardView paints the MineSweeperGame board as a single component. Cells are
+ * drawn directly rather than as one button each, clicks are mapped to a row
+ * and column by dividing by the cell size, and only the cells inside the
+ * area being repainted are drawn.
+ *
+ * BoardView is meant to sit inside a JScrollPane: for large boards only the
+ * cells in the visible part of the viewport are ever painted, so the cost of
+ * a repaint depends on the window size rather than the board size.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class BoardView extends JComponent implements Scrollable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** the width of a cell in pixels */
+	public static final int CELL_WIDTH = 45;
+
+	/** the height of a cell in pixels */
+	public static final int CELL_HEIGHT = 35;
+
+	/** the most rows or columns the viewport asks to show at once */
+	private static final int MAX_VISIBLE_CELLS = 20;
+
+	/** space left between a cell's edge and its icon */
+	private static final int ICON_PADDING = 4;
+
+	/** the colors used for mine counts 1 through 8 */
+	private static final Color[] COUNT_COLORS = { Color.BLUE,
+			new Color(0, 128, 0), Color.RED, new Color(0, 0, 128),
+			new Color(128, 0, 0), new Color(0, 128, 128), Color.BLACK,
+			Color.GRAY };
+
+	/** the text of each mine count, up to the most a cell can have */
+	private static final String[] COUNT_TEXT = new String[Topology.MAX_NEIGHBORS + 1];
+
+	static {
+		for (int count = 0; count < COUNT_TEXT.length; count++)
+			COUNT_TEXT[count] = Integer.toString(count);
+	}
+
+	/** the color of a cell that hasn't been exposed */
+	private static final Color HIDDEN_COLOR = new Color(200, 200, 200);
+
+	/** the color of an exposed cell */
+	private static final Color EXPOSED_COLOR = new Color(230, 230, 230);
+
+	/** the font of the mine probabilities shown as hints */
+	private static final Font HINT_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 11);
+
+	/** the game being displayed */
+	private MineSweeperGame game;
+
+	/** the number of rows on the board */
+	private int rows;
+
+	/** the number of columns on the board */
+	private int cols;
+
+	// ImageIcons
+	private ImageIcon flagIcon;
+	private ImageIcon mineIcon;
+
+	/** the mine probabilities shown on hidden cells, or null for none */
+	private MineProbabilities probabilities;
+
+	/***************************************************************************
+	 * Constructor for BoardView: sets up a view of the given game's board
+	 *
+	 * @param game
+	 *            the game to display
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param flagIcon
+	 *            the icon drawn on flagged cells
+	 * @param mineIcon
+	 *            the icon drawn on mines
+	 **************************************************************************/
+	public BoardView(MineSweeperGame game, int rows, int cols,
+			ImageIcon flagIcon, ImageIcon mineIcon) {
+		this.game = game;
+		this.rows = rows;
+		this.cols = cols;
+		this.flagIcon = flagIcon;
+		this.mineIcon = mineIcon;
+
+		setOpaque(true);
+		setFont(new Font(Font.SANS_SERIF, Font.BOLD, 14));
+	}
+
+	/***************************************************************************
+	 * Gets the size needed to show every cell
+	 *
+	 * @return the preferred size of the board
+	 **************************************************************************/
+	@Override
+	public Dimension getPreferredSize() {
+		return new Dimension(cols * CELL_WIDTH, rows * CELL_HEIGHT);
+	}
+
+	/***************************************************************************
+	 * Gets the size the viewport should start at: the whole board, or a
+	 * window of at most MAX_VISIBLE_CELLS cells each way for larger boards
+	 *
+	 * @return the preferred viewport size
+	 **************************************************************************/
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return new Dimension(Math.min(cols, MAX_VISIBLE_CELLS) * CELL_WIDTH,
+				Math.min(rows, MAX_VISIBLE_CELLS) * CELL_HEIGHT);
+	}
+
+	/***************************************************************************
+	 * Scrolls by one cell when an arrow is clicked
+	 *
+	 * @return the width or height of a cell
+	 **************************************************************************/
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visibleRect,
+			int orientation, int direction) {
+		return orientation == SwingConstants.HORIZONTAL ? CELL_WIDTH
+				: CELL_HEIGHT;
+	}
+
+	/***************************************************************************
+	 * Scrolls by one screen, in whole cells, when the track is clicked
+	 *
+	 * @return the visible width or height, rounded down to whole cells
+	 **************************************************************************/
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visibleRect,
+			int orientation, int direction) {
+		if (orientation == SwingConstants.HORIZONTAL)
+			return Math.max(visibleRect.width / CELL_WIDTH, 1) * CELL_WIDTH;
+		return Math.max(visibleRect.height / CELL_HEIGHT, 1) * CELL_HEIGHT;
+	}
+
+	/***************************************************************************
+	 * The board keeps its own width rather than following the viewport's
+	 **************************************************************************/
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return false;
+	}
+
+	/***************************************************************************
+	 * The board keeps its own height rather than following the viewport's
+	 **************************************************************************/
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return false;
+	}
+
+	/***************************************************************************
+	 * Gets the row under a point on the board
+	 *
+	 * @param y
+	 *            the y coordinate of the point
+	 * @return the row, or -1 if the point is not on the board
+	 **************************************************************************/
+	public int rowAt(int y) {
+		int row = y / CELL_HEIGHT;
+		return y < 0 || row >= rows ? -1 : row;
+	}
+
+	/***************************************************************************
+	 * Gets the column under a point on the board
+	 *
+	 * @param x
+	 *            the x coordinate of the point
+	 * @return the column, or -1 if the point is not on the board
+	 **************************************************************************/
+	public int colAt(int x) {
+		int col = x / CELL_WIDTH;
+		return x < 0 || col >= cols ? -1 : col;
+	}
+
+	/***************************************************************************
+	 * Sets the mine probabilities shown on hidden cells
+	 *
+	 * @param probabilities
+	 *            the probabilities to show, or null to show none
+	 **************************************************************************/
+	public void setProbabilities(MineProbabilities probabilities) {
+		this.probabilities = probabilities;
+	}
+
+	/***************************************************************************
+	 * Repaints only the area covering the given cells, as one repaint
+	 *
+	 * @param changed
+	 *            the cells that need to be redrawn
+	 **************************************************************************/
+	public void repaintCells(ChangeSet changed) {
+		if (changed.isEmpty())
+			return;
+
+		int minRow = rows, maxRow = -1, minCol = cols, maxCol = -1;
+		for (int i = 0; i < changed.size(); i++) {
+			int r = changed.getRow(i);
+			int c = changed.getCol(i);
+			minRow = Math.min(minRow, r);
+			maxRow = Math.max(maxRow, r);
+			minCol = Math.min(minCol, c);
+			maxCol = Math.max(maxCol, c);
+		}
+
+		repaint(minCol * CELL_WIDTH, minRow * CELL_HEIGHT,
+				(maxCol - minCol + 1) * CELL_WIDTH,
+				(maxRow - minRow + 1) * CELL_HEIGHT);
+	}
+
+	/***************************************************************************
+	 * Paints the cells that fall inside the area being repainted
+	 *
+	 * @param g
+	 *            the graphics to paint with
+	 **************************************************************************/
+	@Override
+	protected void paintComponent(Graphics g) {
+		GameEvent.Repaint event = GameEvent.Repaint.start(rows, cols);
+		Graphics2D g2 = (Graphics2D) g;
+		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+				RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+		Rectangle clip = g.getClipBounds();
+		if (clip == null)
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+		g2.setColor(getBackground());
+		g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+		// only the rows and columns that overlap the clip
+		int firstRow = Math.max(clip.y / CELL_HEIGHT, 0);
+		int lastRow = Math.min((clip.y + clip.height - 1) / CELL_HEIGHT, rows - 1);
+		int firstCol = Math.max(clip.x / CELL_WIDTH, 0);
+		int lastCol = Math.min((clip.x + clip.width - 1) / CELL_WIDTH, cols - 1);
+
+		// read straight from the packed board, with nothing made per cell
+		Board board = game.getBoard();
+		boolean over = game.getGameStatus() != GameStatus.NotOverYet;
+		FontMetrics metrics = g2.getFontMetrics();
+		for (int r = firstRow; r <= lastRow; r++)
+			for (int c = firstCol; c <= lastCol; c++)
+				paintCell(g2, metrics, board, over, r, c);
+
+		event.finish(Math.max(lastRow - firstRow + 1, 0)
+				* Math.max(lastCol - firstCol + 1, 0));
+	}
+
+	/***************************************************************************
+	 * Paints one cell with the correct number or icon (flag/ mine icon)
+	 *
+	 * @param g2
+	 *            the graphics to paint with
+	 * @param metrics
+	 *            the metrics of the font used for mine counts
+	 * @param board
+	 *            the board of the game
+	 * @param over
+	 *            true if the game is won or lost, when every mine is shown
+	 * @param r
+	 *            the row of the cell
+	 * @param c
+	 *            the column of the cell
+	 **************************************************************************/
+	private void paintCell(Graphics2D g2, FontMetrics metrics, Board board,
+			boolean over, int r, int c) {
+		int index = board.index(r, c);
+		boolean flagged = board.isFlagged(index);
+		int count = board.getMinecount(index);
+		int x = c * CELL_WIDTH;
+		int y = r * CELL_HEIGHT;
+
+		boolean exposed = board.isExposed(index) && !flagged;
+		boolean showMine = board.isMine(index) && (board.isExposed(index) || over);
+
+		// exposed cells are flat, others look raised like a button
+		if (exposed) {
+			g2.setColor(EXPOSED_COLOR);
+			g2.fillRect(x, y, CELL_WIDTH, CELL_HEIGHT);
+			g2.setColor(HIDDEN_COLOR);
+			g2.drawRect(x, y, CELL_WIDTH - 1, CELL_HEIGHT - 1);
+		} else {
+			g2.setColor(HIDDEN_COLOR);
+			g2.fill3DRect(x, y, CELL_WIDTH, CELL_HEIGHT, true);
+		}
+
+		// mine icon replaces the flag icon once the mine is shown
+		if (showMine)
+			paintIcon(g2, mineIcon, x, y);
+		else if (flagged)
+			paintIcon(g2, flagIcon, x, y);
+
+		// put mineCount on exposed Cells with neighbor mines
+		else if (exposed && count > 0) {
+			String text = COUNT_TEXT[count];
+			g2.setColor(COUNT_COLORS[(count - 1) % COUNT_COLORS.length]);
+			g2.drawString(text, x + (CELL_WIDTH - metrics.stringWidth(text)) / 2,
+					y + (CELL_HEIGHT - metrics.getHeight()) / 2 + metrics.getAscent());
+		}
+
+		// hint at how likely a hidden cell is to be a mine
+		else if (!exposed && probabilities != null)
+			paintProbability(g2, probabilities.getProbability(r, c), x, y);
+	}
+
+	/***************************************************************************
+	 * Paints a mine probability on a hidden cell: a tint from green (safe) to
+	 * red (a mine) and the probability as a percentage
+	 *
+	 * @param g2
+	 *            the graphics to paint with
+	 * @param probability
+	 *            the chance the cell is a mine, from 0 to 1
+	 * @param x
+	 *            the x coordinate of the cell
+	 * @param y
+	 *            the y coordinate of the cell
+	 **************************************************************************/
+	private void paintProbability(Graphics2D g2, double probability, int x, int y) {
+		int red = (int) Math.round(255 * probability);
+		g2.setColor(new Color(red, 255 - red, 0, 90));
+		g2.fillRect(x + 2, y + 2, CELL_WIDTH - 4, CELL_HEIGHT - 4);
+
+		Font font = g2.getFont();
+		g2.setFont(HINT_FONT);
+		FontMetrics metrics = g2.getFontMetrics();
+		String text = Math.round(100 * probability) + "%";
+		g2.setColor(Color.DARK_GRAY);
+		g2.drawString(text, x + (CELL_WIDTH - metrics.stringWidth(text)) / 2,
+				y + (CELL_HEIGHT - metrics.getHeight()) / 2 + metrics.getAscent());
+		g2.setFont(font);
+	}
+
+	/***************************************************************************
+	 * Paints an icon scaled to fit inside a cell
+	 *
+	 * @param g2
+	 *            the graphics to paint with
+	 * @param icon
+	 *            the icon to paint
+	 * @param x
+	 *            the x coordinate of the cell
+	 * @param y
+	 *            the y coordinate of the cell
+	 **************************************************************************/
+	private void paintIcon(Graphics2D g2, ImageIcon icon, int x, int y) {
+		int size = Math.min(CELL_WIDTH, CELL_HEIGHT) - 2 * ICON_PADDING;
+		g2.drawImage(icon.getImage(), x + (CELL_WIDTH - size) / 2,
+				y + (CELL_HEIGHT - size) / 2, size, size, this);
+	}
+}
@@ -6,111 +6,103 @@ package minesweeper;
  * cell is a mine, and what number should appear in the cell if it is adjacent
  * to any mine cells.
  * 
+ * A Cell is a view of one position of a Board: it holds no state of its own
+ * and reads and writes the Board's packed cell storage directly.
+ * 
  * @author Kimberlin Steffens
  * @version 16 February 2016
  ******************************************************************************/
 public class Cell {
-	private int minecount;
-	private boolean isFlagged;
-	private boolean isExposed;
-	private boolean isMine;
-	private boolean isZero;
-	private boolean isRevealed;
+
+	/** the board the cell belongs to */
+	private final Board board;
+
+	/** the index of the cell on the board */
+	private final int index;
 
 	/***************************************************************************
-	 * Constructor for Cell. Sets all booleans to false.
+	 * Constructor for Cell. Creates a view of one cell of a Board.
+	 * 
+	 * @param board
+	 *            the board the cell belongs to
+	 * @param index
+	 *            the index of the cell on the board
 	 **************************************************************************/
-	public Cell() {
-		isExposed = false;
-		isMine = false;
-		isFlagged = false;
-		isExposed = false;
-		isZero = false;
-		isRevealed = false;
+	public Cell(Board board, int index) {
+		this.board = board;
+		this.index = index;
 	}
 
 	/***************************************************************************
 	 * Getter method for minecount.
 	 **************************************************************************/
 	public int getMinecount() {
-		return minecount;
+		return board.getMinecount(index);
 	}
 
 	/***************************************************************************
 	 * Setter method for minecount.
 	 **************************************************************************/
 	public void setMinecount(int minecount) {
-		this.minecount = minecount;
+		board.setMinecount(index, minecount);
 	}
 
 	/***************************************************************************
 	 * Getter method for isFlagged
 	 **************************************************************************/
 	public boolean isFlagged() {
-		return isFlagged;
+		return board.isFlagged(index);
 	}
 
 	/***************************************************************************
 	 * Setter method for isFlagged
 	 **************************************************************************/
 	public void setFlagged(boolean isFlagged) {
-		this.isFlagged = isFlagged;
+		board.setFlagged(index, isFlagged);
 	}
 
 	/***************************************************************************
 	 * Getter method for isExposed
 	 **************************************************************************/
 	public boolean isExposed() {
-		return isExposed;
+		return board.isExposed(index);
 	}
 
 	/***************************************************************************
 	 * Setter method for isExposed
 	 **************************************************************************/
 	public void setExposed(boolean exposed) {
-		isExposed = exposed;
+		board.setExposed(index, exposed);
 	}
 
 	/***************************************************************************
 	 * Getter method for isMine
 	 **************************************************************************/
 	public boolean isMine() {
-		return isMine;
+		return board.isMine(index);
 	}
 
 	/***************************************************************************
 	 * Setter method for isMine
 	 **************************************************************************/
 	public void setMine(boolean mine) {
-		isMine = mine;
+		board.setMine(index, mine);
 	}
 
 	/***************************************************************************
-	 * Getter method for isZero
+	 * Getter method for isZero: an exposed, non-mine cell with no neighboring
+	 * mines
 	 **************************************************************************/
 	public boolean isZero() {
-		return isZero;
+		return isExposed() && !isMine() && getMinecount() == 0;
 	}
 
 	/***************************************************************************
-	 * Setter method for isZero
-	 **************************************************************************/
-	public void setIsZero(boolean isZero) {
-		this.isZero = isZero;
-	}
-
-	/***************************************************************************
-	 * Getter method for isRevealed
+	 * Getter method for isRevealed: a zero cell whose neighbors have been
+	 * exposed, which the cascade always does together with exposing it
 	 **************************************************************************/
 	public boolean isRevealed() {
-		return isRevealed;
-	}
-
-	/***************************************************************************
-	 * Setter method for isRevealed
-	 **************************************************************************/
-	public void setIsRevealed(boolean isRevealed) {
-		this.isRevealed = isRevealed;
+		return isZero();
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/*******************************************************************************
+ * ChangeSet holds the cells changed by a single action on the board, such as
+ * the cells exposed by a cascade. Cells are stored as packed indices
+ * (row * number of columns + col) in a growable int array, so recording a
+ * large cascade does not create an object per cell.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class ChangeSet {
+
+	/** the starting capacity of the index array */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** the packed indices of the changed cells, in the order they changed */
+	private int[] cells;
+
+	/** the number of changed cells stored */
+	private int size;
+
+	/** the number of columns on the board, used to unpack indices */
+	private int cols;
+
+	/***************************************************************************
+	 * Constructor for ChangeSet: creates an empty set of changes
+	 *
+	 * @param cols
+	 *            the number of columns on the board the changes belong to
+	 **************************************************************************/
+	public ChangeSet(int cols) {
+		this.cols = cols;
+		this.cells = new int[INITIAL_CAPACITY];
+		this.size = 0;
+	}
+
+	/***************************************************************************
+	 * Records a changed cell
+	 *
+	 * @param index
+	 *            the packed index of the cell that changed
+	 **************************************************************************/
+	public void add(int index) {
+		if (size == cells.length)
+			cells = Arrays.copyOf(cells, cells.length * 2);
+		cells[size++] = index;
+	}
+
+	/***************************************************************************
+	 * Records every change of another ChangeSet
+	 *
+	 * @param other
+	 *            the changes to append to this set
+	 **************************************************************************/
+	public void addAll(ChangeSet other) {
+		addAll(other, 0, other.size);
+	}
+
+	/***************************************************************************
+	 * Records some of the changes of another ChangeSet
+	 *
+	 * @param other
+	 *            the changes to append to this set
+	 * @param from
+	 *            the position of the first change to append
+	 * @param to
+	 *            one past the position of the last change to append
+	 **************************************************************************/
+	public void addAll(ChangeSet other, int from, int to) {
+		int count = to - from;
+		if (size + count > cells.length)
+			cells = Arrays.copyOf(cells, Math.max(cells.length * 2, size + count));
+		System.arraycopy(other.cells, from, cells, size, count);
+		size += count;
+	}
+
+	/***************************************************************************
+	 * Gets the number of changed cells
+	 *
+	 * @return the number of changed cells recorded
+	 **************************************************************************/
+	public int size() {
+		return size;
+	}
+
+	/***************************************************************************
+	 * Checks whether no cells changed
+	 *
+	 * @return true if no cells were recorded
+	 **************************************************************************/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/***************************************************************************
+	 * Gets the packed index of a changed cell
+	 *
+	 * @param i
+	 *            the position of the change, from 0 to size() - 1
+	 * @return the packed index of the cell
+	 **************************************************************************/
+	public int getIndex(int i) {
+		return cells[i];
+	}
+
+	/***************************************************************************
+	 * Gets the row of a changed cell
+	 *
+	 * @param i
+	 *            the position of the change, from 0 to size() - 1
+	 * @return the row the changed cell is in
+	 **************************************************************************/
+	public int getRow(int i) {
+		return cells[i] / cols;
+	}
+
+	/***************************************************************************
+	 * Gets the column of a changed cell
+	 *
+	 * @param i
+	 *            the position of the change, from 0 to size() - 1
+	 * @return the column the changed cell is in
+	 **************************************************************************/
+	public int getCol(int i) {
+		return cells[i] % cols;
+	}
+
+	/***************************************************************************
+	 * Removes the changes recorded after the given number of changes
+	 *
+	 * @param size
+	 *            the number of changes to keep, from 0 to size()
+	 **************************************************************************/
+	public void truncate(int size) {
+		this.size = Math.min(this.size, size);
+	}
+
+	/***************************************************************************
+	 * Removes all recorded changes, keeping the allocated capacity
+	 **************************************************************************/
+	public void clear() {
+		size = 0;
+	}
+}
@@ -0,0 +1,169 @@
+package minesweeper;
+
+/*******************************************************************************
+ * ConfigSummary holds the running totals of every game played with one board
+ * size, number of mines and generation mode, kept by a StatisticsStore.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class ConfigSummary {
+
+	/** the number of games finished */
+	private long games;
+
+	/** the number of games won */
+	private long wins;
+
+	/** the number of games lost */
+	private long losses;
+
+	/** the total time spent on every game, in milliseconds */
+	private long totalMillis;
+
+	/** the total number of moves made in every game */
+	private long totalClicks;
+
+	/** the quickest win, in milliseconds, or -1 if none yet */
+	private long bestWinMillis = -1;
+
+	/***************************************************************************
+	 * Adds a finished game to the totals
+	 *
+	 * @param outcome
+	 *            how the game ended
+	 * @param millis
+	 *            how long the game took, in milliseconds
+	 * @param clicks
+	 *            the number of moves made
+	 **************************************************************************/
+	void recordGame(GameStatus outcome, long millis, long clicks) {
+		games++;
+		totalMillis += millis;
+		totalClicks += clicks;
+		if (outcome == GameStatus.Won) {
+			wins++;
+			if (bestWinMillis < 0 || millis < bestWinMillis)
+				bestWinMillis = millis;
+		} else if (outcome == GameStatus.Lost) {
+			losses++;
+		}
+	}
+
+	/***************************************************************************
+	 * Adds the totals of another summary of the same kind of board, as read
+	 * back from a compacted log
+	 *
+	 * @param other
+	 *            the summary to add
+	 **************************************************************************/
+	void combine(ConfigSummary other) {
+		games += other.games;
+		wins += other.wins;
+		losses += other.losses;
+		totalMillis += other.totalMillis;
+		totalClicks += other.totalClicks;
+		if (other.bestWinMillis >= 0
+				&& (bestWinMillis < 0 || other.bestWinMillis < bestWinMillis))
+			bestWinMillis = other.bestWinMillis;
+	}
+
+	/***************************************************************************
+	 * Makes a copy of the summary
+	 *
+	 * @return the copy
+	 **************************************************************************/
+	ConfigSummary copy() {
+		ConfigSummary copy = new ConfigSummary();
+		copy.combine(this);
+		return copy;
+	}
+
+	/***************************************************************************
+	 * Sets every total at once, as read back from a compacted log
+	 *
+	 * @param games
+	 *            the number of games finished
+	 * @param wins
+	 *            the number of games won
+	 * @param losses
+	 *            the number of games lost
+	 * @param totalMillis
+	 *            the total time spent on every game, in milliseconds
+	 * @param totalClicks
+	 *            the total number of moves made in every game
+	 * @param bestWinMillis
+	 *            the quickest win in milliseconds, or -1 if none
+	 **************************************************************************/
+	void set(long games, long wins, long losses, long totalMillis,
+			long totalClicks, long bestWinMillis) {
+		this.games = games;
+		this.wins = wins;
+		this.losses = losses;
+		this.totalMillis = totalMillis;
+		this.totalClicks = totalClicks;
+		this.bestWinMillis = bestWinMillis;
+	}
+
+	/***************************************************************************
+	 * Getter method for games
+	 **************************************************************************/
+	public long getGames() {
+		return games;
+	}
+
+	/***************************************************************************
+	 * Getter method for wins
+	 **************************************************************************/
+	public long getWins() {
+		return wins;
+	}
+
+	/***************************************************************************
+	 * Getter method for losses
+	 **************************************************************************/
+	public long getLosses() {
+		return losses;
+	}
+
+	/***************************************************************************
+	 * Getter method for totalMillis
+	 **************************************************************************/
+	public long getTotalMillis() {
+		return totalMillis;
+	}
+
+	/***************************************************************************
+	 * Getter method for totalClicks
+	 **************************************************************************/
+	public long getTotalClicks() {
+		return totalClicks;
+	}
+
+	/***************************************************************************
+	 * Gets the quickest win
+	 *
+	 * @return the time of the quickest win in milliseconds, or -1 if no game
+	 *         has been won
+	 **************************************************************************/
+	public long getBestWinMillis() {
+		return bestWinMillis;
+	}
+
+	/***************************************************************************
+	 * Gets the fraction of games won
+	 *
+	 * @return the win rate, from 0 to 1, or 0 if no games were played
+	 **************************************************************************/
+	public double getWinRate() {
+		return games == 0 ? 0 : (double) wins / games;
+	}
+
+	/***************************************************************************
+	 * Gets the average time a game took
+	 *
+	 * @return the average time in milliseconds, or 0 if no games were played
+	 **************************************************************************/
+	public double getAverageMillis() {
+		return games == 0 ? 0 : (double) totalMillis / games;
+	}
+}
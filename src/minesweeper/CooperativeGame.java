@@ -0,0 +1,464 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*******************************************************************************
+ * CooperativeGame lets several players act on one shared board at the same
+ * time, each from their own thread, with no lock anywhere.
+ *
+ * Once the board is laid out only two bits of a cell ever change: flagged and
+ * exposed. Every change is made with a compare-and-set on the cell's byte, so
+ * of two players reaching the same cell only one changes it. A cascade
+ * spreads only from the cells its own player exposed, so overlapping cascades
+ * split the region between them and every cell is exposed exactly once.
+ *
+ * The counts the status depends on are atomic too. Safe cells still hidden
+ * are taken off once per cascade, and the player whose cascade takes the
+ * count to zero wins the game. Flags on mines and flags elsewhere share one
+ * long, so every flag sees the exact pair of counts its change produced. The
+ * status itself is decided by a single compare-and-set from NotOverYet, so it
+ * is decided exactly once; moves made after that change nothing.
+ *
+ * Unlike MineSweeperGame, the first select is not kept off a mine, since
+ * moving a mine would change counts other players are reading. Play in
+ * no-guess mode to start with an opening instead.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class CooperativeGame {
+
+	/** the amount one flag on a mine adds to flagCounts */
+	private static final long CORRECT_FLAG = 1L << 32;
+
+	/** the amount one flag on a safe cell adds to flagCounts */
+	private static final long WRONG_FLAG = 1L;
+
+	/** the packed state of every cell, changed only by compare-and-set */
+	private final Board board;
+
+	/** the number of rows on the board */
+	private final int rows;
+
+	/** the number of columns on the board */
+	private final int cols;
+
+	/** the number of mines on the board */
+	private final int numMines;
+
+	/** which cells of the board are neighbors */
+	private final Topology topology;
+
+	/** the seed the board was laid out from */
+	private final long seed;
+
+	/** the status of the game, set once from NotOverYet */
+	private final AtomicReference<GameStatus> status;
+
+	/** the number of safe cells not exposed yet */
+	private final AtomicInteger unexposedSafeCount;
+
+	/** the number of flags on mines in the high half and on safe cells in
+	 * the low half */
+	private final AtomicLong flagCounts = new AtomicLong();
+
+	/***************************************************************************
+	 * Constructor for CooperativeGame: lays out a board to be shared
+	 *
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param numMines
+	 *            the number of mines on the board
+	 * @param seed
+	 *            the seed the board is laid out from
+	 * @param mode
+	 *            how the board is laid out
+	 **************************************************************************/
+	public CooperativeGame(int rows, int cols, int numMines, long seed,
+			GenerationMode mode) {
+		this(Topology.square(rows, cols), numMines, seed, mode);
+	}
+
+	/***************************************************************************
+	 * Constructor for CooperativeGame: lays out a board of any shape to be
+	 * shared
+	 *
+	 * @param topology
+	 *            the size of the board and which of its cells are neighbors
+	 * @param numMines
+	 *            the number of mines on the board
+	 * @param seed
+	 *            the seed the board is laid out from
+	 * @param mode
+	 *            how the board is laid out
+	 **************************************************************************/
+	public CooperativeGame(Topology topology, int numMines, long seed,
+			GenerationMode mode) {
+		MineSweeperGame layout = new MineSweeperGame(topology, numMines, seed, mode);
+		this.board = layout.getBoard();
+		this.rows = topology.getRows();
+		this.cols = topology.getCols();
+		this.numMines = numMines;
+		this.topology = topology;
+		this.seed = layout.getSeed();
+		this.status = new AtomicReference<>(layout.getGameStatus());
+		this.unexposedSafeCount = new AtomicInteger(board.getUnexposedSafeCount());
+	}
+
+	/***************************************************************************
+	 * Selects a cell, exposing it and, if it is blank, the region around it.
+	 * Safe to call from any number of threads at once.
+	 *
+	 * @param row
+	 *            the row the cell is in
+	 * @param col
+	 *            the column the cell is in
+	 * @return the cells this call exposed, which no other call also exposed
+	 **************************************************************************/
+	public ChangeSet select(int row, int col) {
+		ChangeSet changed = new ChangeSet(cols);
+		int index = board.index(row, col);
+		if (status.get() != GameStatus.NotOverYet || !expose(index, changed))
+			return changed;
+
+		if (board.isMine(index)) {
+			decide(GameStatus.Lost);
+			return changed;
+		}
+		spread(changed, 0);
+
+		// the player exposing the last safe cell wins
+		if (unexposedSafeCount.addAndGet(-changed.size()) == 0)
+			decide(GameStatus.Won);
+		return changed;
+	}
+
+	/***************************************************************************
+	 * Chords a cell: if it is an exposed number with as many flags around it
+	 * as its count, exposes its other neighbors and the blank regions around
+	 * them. Safe to call from any number of threads at once; flags other
+	 * players change meanwhile may or may not be counted.
+	 *
+	 * @param row
+	 *            the row the cell is in
+	 * @param col
+	 *            the column the cell is in
+	 * @return the cells this call exposed, which no other call also exposed
+	 **************************************************************************/
+	public ChangeSet chord(int row, int col) {
+		ChangeSet changed = new ChangeSet(cols);
+		int index = board.index(row, col);
+		int count = board.getMinecount(index);
+		if (status.get() != GameStatus.NotOverYet || !board.isExposed(index)
+				|| board.isMine(index) || count == 0)
+			return changed;
+
+		int[] around = new int[Topology.MAX_NEIGHBORS];
+		int neighborCount = topology.neighbors(index, around);
+		int flags = 0;
+		for (int k = 0; k < neighborCount; k++)
+			if (board.isFlagged(around[k]))
+				flags++;
+		if (flags != count)
+			return changed;
+
+		int mines = 0;
+		for (int k = 0; k < neighborCount; k++) {
+			int check = around[k];
+			int start = changed.size();
+			if (!expose(check, changed))
+				continue;
+			if (board.isMine(check))
+				mines++;
+			else
+				spread(changed, start);
+		}
+
+		// a wrong flag loses the game; otherwise the player exposing the last
+		// safe cell wins
+		if (mines > 0)
+			decide(GameStatus.Lost);
+		if (unexposedSafeCount.addAndGet(mines - changed.size()) == 0)
+			decide(GameStatus.Won);
+		return changed;
+	}
+
+	/***************************************************************************
+	 * Spreads a cascade outward from the cells this call exposed, exposing
+	 * the neighbors of every blank cell among them
+	 *
+	 * @param changed
+	 *            the cells exposed by this call, to which every cell it
+	 *            exposes is added
+	 * @param from
+	 *            the position in changed of the first cell of the cascade
+	 **************************************************************************/
+	private void spread(ChangeSet changed, int from) {
+		int[] around = new int[Topology.MAX_NEIGHBORS];
+		for (int i = from; i < changed.size(); i++) {
+			int index = changed.getIndex(i);
+
+			// only blank cells spread to their neighbors
+			if (board.getMinecount(index) != 0)
+				continue;
+
+			int count = topology.neighbors(index, around);
+			for (int k = 0; k < count; k++)
+				expose(around[k], changed);
+		}
+	}
+
+	/***************************************************************************
+	 * Flags a cell that is not flagged, or unflags a flagged cell. Exposed
+	 * cells can't be flagged. Safe to call from any number of threads at once.
+	 *
+	 * @param row
+	 *            the row the cell is in
+	 * @param col
+	 *            the column the cell is in
+	 * @return the cell flagged or unflagged, if any
+	 **************************************************************************/
+	public ChangeSet toggleFlag(int row, int col) {
+		ChangeSet changed = new ChangeSet(cols);
+		int index = board.index(row, col);
+		if (status.get() != GameStatus.NotOverYet)
+			return changed;
+
+		int state;
+		do {
+			state = board.getState(index);
+			if ((state & Board.EXPOSED) != 0)
+				return changed;
+		} while (!board.compareAndSetState(index, state, state ^ Board.FLAG));
+		changed.add(index);
+
+		long flag = (state & Board.MINE) != 0 ? CORRECT_FLAG : WRONG_FLAG;
+		long counts = flagCounts.addAndGet((state & Board.FLAG) != 0 ? -flag : flag);
+
+		// the player placing the flag that marks every mine and nothing else
+		// wins
+		if (counts == numMines * CORRECT_FLAG)
+			decide(GameStatus.Won);
+		return changed;
+	}
+
+	/***************************************************************************
+	 * Makes a move on the board: selects, flags/unflags or chords the cell
+	 * depending on the type of move
+	 *
+	 * @param move
+	 *            the move to make
+	 * @return the cells changed by the move
+	 **************************************************************************/
+	public ChangeSet play(Move move) {
+		switch (move.getType()) {
+		case Flag:
+			return toggleFlag(move.getRow(), move.getCol());
+		case Chord:
+			return chord(move.getRow(), move.getCol());
+		default:
+			return select(move.getRow(), move.getCol());
+		}
+	}
+
+	/***************************************************************************
+	 * Exposes a cell unless it is flagged or already exposed, recording it if
+	 * this call is the one that exposed it
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param changed
+	 *            the cells exposed by this call
+	 * @return true if this call exposed the cell
+	 **************************************************************************/
+	private boolean expose(int index, ChangeSet changed) {
+		while (true) {
+			int state = board.getState(index);
+			if ((state & (Board.EXPOSED | Board.FLAG)) != 0)
+				return false;
+			if (board.compareAndSetState(index, state, state | Board.EXPOSED)) {
+				changed.add(index);
+				return true;
+			}
+		}
+	}
+
+	/***************************************************************************
+	 * Ends the game, unless it has already ended
+	 *
+	 * @param outcome
+	 *            Won or Lost
+	 * @return true if this call ended the game
+	 **************************************************************************/
+	private boolean decide(GameStatus outcome) {
+		return status.compareAndSet(GameStatus.NotOverYet, outcome);
+	}
+
+	/***************************************************************************
+	 * Gets a desired cell on the board. The cell reads the board as it is,
+	 * so moves still being made by other players may show only in part.
+	 *
+	 * @param row
+	 *            the row the cell is in
+	 * @param col
+	 *            the column the cell is in
+	 * @return the cell
+	 **************************************************************************/
+	public Cell getCell(int row, int col) {
+		return new Cell(board, board.index(row, col));
+	}
+
+	/***************************************************************************
+	 * Gets the packed storage of the board, for classes in this package that
+	 * read many cells at once
+	 *
+	 * @return the board
+	 **************************************************************************/
+	Board getBoard() {
+		return board;
+	}
+
+	/***************************************************************************
+	 * Checks that a cell is on the board
+	 *
+	 * @param row
+	 *            the row of the cell
+	 * @param col
+	 *            the column of the cell
+	 * @return true if the cell is on the board
+	 **************************************************************************/
+	public boolean isValidCell(int row, int col) {
+		return row >= 0 && row < rows && col >= 0 && col < cols;
+	}
+
+	/***************************************************************************
+	 * Getter method for status
+	 **************************************************************************/
+	public GameStatus getGameStatus() {
+		return status.get();
+	}
+
+	/***************************************************************************
+	 * Getter method for rows
+	 **************************************************************************/
+	public int getRows() {
+		return rows;
+	}
+
+	/***************************************************************************
+	 * Getter method for cols
+	 **************************************************************************/
+	public int getCols() {
+		return cols;
+	}
+
+	/***************************************************************************
+	 * Getter method for numMines
+	 **************************************************************************/
+	public int getNumMines() {
+		return numMines;
+	}
+
+	/***************************************************************************
+	 * Getter method for seed
+	 **************************************************************************/
+	public long getSeed() {
+		return seed;
+	}
+
+	/***************************************************************************
+	 * Gets the number of safe cells not exposed yet, as counted by the moves
+	 *
+	 * @return the number of safe cells still hidden
+	 **************************************************************************/
+	int getUnexposedSafeCount() {
+		return unexposedSafeCount.get();
+	}
+
+	/***************************************************************************
+	 * Gets the number of flags on mines, as counted by the moves
+	 *
+	 * @return the number of correct flags
+	 **************************************************************************/
+	int getCorrectFlagCount() {
+		return (int) (flagCounts.get() / CORRECT_FLAG);
+	}
+
+	/***************************************************************************
+	 * Gets the number of flags on safe cells, as counted by the moves
+	 *
+	 * @return the number of wrong flags
+	 **************************************************************************/
+	int getWrongFlagCount() {
+		return (int) (flagCounts.get() % CORRECT_FLAG);
+	}
+
+	/***************************************************************************
+	 * Plays one shared board with many players at once, each a thread that
+	 * exposes random safe cells and flags random mines, and checks every cell
+	 * was changed exactly once, exiting with status 1 if not. Arguments:
+	 * [players] [rows cols mines], by default as many players as processors
+	 * on a 2000 x 2000 board with 600,000 mines.
+	 **************************************************************************/
+	public static void main(String[] args) throws Exception {
+		int players = args.length > 0 ? Integer.parseInt(args[0])
+				: Runtime.getRuntime().availableProcessors();
+		int rows = args.length > 3 ? Integer.parseInt(args[1]) : 2000;
+		int cols = args.length > 3 ? Integer.parseInt(args[2]) : 2000;
+		int numMines = args.length > 3 ? Integer.parseInt(args[3]) : 600000;
+
+		CooperativeGame game = new CooperativeGame(rows, cols, numMines,
+				System.nanoTime(), GenerationMode.Random);
+		long[] moves = new long[players];
+		long[] exposed = new long[players];
+		Thread[] threads = new Thread[players];
+		long start = System.nanoTime();
+
+		for (int p = 0; p < players; p++) {
+			int player = p;
+			threads[p] = new Thread(() -> {
+				SplittableRandom random = new SplittableRandom(player);
+				Board board = game.getBoard();
+				while (game.getGameStatus() == GameStatus.NotOverYet) {
+					int index = random.nextInt(board.size());
+					if (board.isExposed(index) || board.isFlagged(index))
+						continue;
+					moves[player]++;
+					if (board.isMine(index))
+						game.toggleFlag(index / cols, index % cols);
+					else
+						exposed[player] += game.select(index / cols, index % cols).size();
+				}
+			});
+			threads[p].start();
+		}
+		long totalMoves = 0, totalExposed = 0;
+		for (int p = 0; p < players; p++) {
+			threads[p].join();
+			totalMoves += moves[p];
+			totalExposed += exposed[p];
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		Board board = game.getBoard();
+		long safe = (long) rows * cols - numMines, exposedCells = 0;
+		for (int i = 0; i < board.size(); i++)
+			if (board.isExposed(i))
+				exposedCells++;
+
+		System.out.printf("%d players: %s after %d moves in %.2f s, %.0f moves/s%n",
+				players, game.getGameStatus(), totalMoves, seconds,
+				totalMoves / seconds);
+		System.out.printf("%d cells exposed, %d reported by the players, %d to"
+				+ " expose before the game ended%n", exposedCells, totalExposed,
+				game.getUnexposedSafeCount());
+		if (exposedCells != totalExposed || exposedCells > safe) {
+			System.out.println("INCONSISTENT");
+			System.exit(1);
+		}
+	}
+}
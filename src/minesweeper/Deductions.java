@@ -0,0 +1,46 @@
+package minesweeper;
+
+/*******************************************************************************
+ * Deductions holds the cells a Solver has newly proven to be safe or to be
+ * mines.
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public class Deductions {
+	private final ChangeSet safe;
+	private final ChangeSet mines;
+
+	/***************************************************************************
+	 * Constructor for Deductions: starts with nothing deduced
+	 * 
+	 * @param cols
+	 *            the number of columns on the board
+	 **************************************************************************/
+	public Deductions(int cols) {
+		safe = new ChangeSet(cols);
+		mines = new ChangeSet(cols);
+	}
+
+	/***************************************************************************
+	 * Getter method for safe: the cells proven not to be mines
+	 **************************************************************************/
+	public ChangeSet getSafe() {
+		return safe;
+	}
+
+	/***************************************************************************
+	 * Getter method for mines: the cells proven to be mines
+	 **************************************************************************/
+	public ChangeSet getMines() {
+		return mines;
+	}
+
+	/***************************************************************************
+	 * Checks whether nothing new was deduced
+	 * 
+	 * @return true if no cells were proven safe or mines
+	 **************************************************************************/
+	public boolean isEmpty() {
+		return safe.isEmpty() && mines.isEmpty();
+	}
+}
@@ -0,0 +1,198 @@
+package minesweeper;
+
+/*******************************************************************************
+ * GameChange describes one kind of change a game action made, as published
+ * by MineSweeperGame in a GameChanges batch.
+ * 		BoardReset: a new board was laid out, so every cell may have changed
+ * 		CellsExposed: the cells were exposed, as by a select or a redo
+ * 		CellsHidden: the cells were hidden again, as by an undo
+ * 		FlagsToggled: the cells were flagged or unflagged
+ * 		StatusChanged: the game status changed
+ * 		CountersChanged: the move, flag, cell or win/loss counts changed
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class GameChange {
+
+	/** the kinds of change */
+	public enum Type {
+		BoardReset, CellsExposed, CellsHidden, FlagsToggled, StatusChanged,
+		CountersChanged
+	}
+
+	/** the kind of change */
+	private final Type type;
+
+	/** the cells changed, for the cell types */
+	private final ChangeSet cells;
+
+	/** the status before and after, for StatusChanged */
+	private final GameStatus before;
+	private final GameStatus after;
+
+	/** the counts, for CountersChanged */
+	private final int moves;
+	private final int flags;
+	private final int cellsLeft;
+	private final int wins;
+	private final int losses;
+
+	private GameChange(Type type, ChangeSet cells, GameStatus before,
+			GameStatus after, int moves, int flags, int cellsLeft, int wins,
+			int losses) {
+		this.type = type;
+		this.cells = cells;
+		this.before = before;
+		this.after = after;
+		this.moves = moves;
+		this.flags = flags;
+		this.cellsLeft = cellsLeft;
+		this.wins = wins;
+		this.losses = losses;
+	}
+
+	/***************************************************************************
+	 * Creates a change of cells. The cells are copied, so the set passed in
+	 * can go on being used.
+	 *
+	 * @param type
+	 *            CellsExposed, CellsHidden or FlagsToggled
+	 * @param cells
+	 *            the cells changed
+	 * @param cols
+	 *            the number of columns on the board
+	 * @return the change
+	 **************************************************************************/
+	static GameChange cells(Type type, ChangeSet cells, int cols) {
+		ChangeSet copy = new ChangeSet(cols);
+		copy.addAll(cells);
+		return new GameChange(type, copy, null, null, 0, 0, 0, 0, 0);
+	}
+
+	/***************************************************************************
+	 * Creates a change of the board as a whole
+	 *
+	 * @return the change
+	 **************************************************************************/
+	static GameChange boardReset() {
+		return new GameChange(Type.BoardReset, null, null, null, 0, 0, 0, 0, 0);
+	}
+
+	/***************************************************************************
+	 * Creates a change of status
+	 *
+	 * @param before
+	 *            the status before
+	 * @param after
+	 *            the status after
+	 * @return the change
+	 **************************************************************************/
+	static GameChange status(GameStatus before, GameStatus after) {
+		return new GameChange(Type.StatusChanged, null, before, after, 0, 0, 0, 0, 0);
+	}
+
+	/***************************************************************************
+	 * Creates a change of the counts, holding their new values
+	 *
+	 * @return the change
+	 **************************************************************************/
+	static GameChange counters(int moves, int flags, int cellsLeft, int wins,
+			int losses) {
+		return new GameChange(Type.CountersChanged, null, null, null, moves, flags,
+				cellsLeft, wins, losses);
+	}
+
+	/***************************************************************************
+	 * Getter method for type
+	 **************************************************************************/
+	public Type getType() {
+		return type;
+	}
+
+	/***************************************************************************
+	 * Gets the cells changed
+	 *
+	 * @return the cells, or null if the change is not of cells
+	 **************************************************************************/
+	public ChangeSet getCells() {
+		return cells;
+	}
+
+	/***************************************************************************
+	 * Gets the status before a StatusChanged change
+	 *
+	 * @return the status, or null for other types
+	 **************************************************************************/
+	public GameStatus getStatusBefore() {
+		return before;
+	}
+
+	/***************************************************************************
+	 * Gets the status after a StatusChanged change
+	 *
+	 * @return the status, or null for other types
+	 **************************************************************************/
+	public GameStatus getStatusAfter() {
+		return after;
+	}
+
+	/***************************************************************************
+	 * Gets the number of moves made in the game, for CountersChanged
+	 *
+	 * @return the number of moves
+	 **************************************************************************/
+	public int getMoves() {
+		return moves;
+	}
+
+	/***************************************************************************
+	 * Gets the number of flags on the board, for CountersChanged
+	 *
+	 * @return the number of flags
+	 **************************************************************************/
+	public int getFlags() {
+		return flags;
+	}
+
+	/***************************************************************************
+	 * Gets the number of safe cells still to be exposed, for CountersChanged
+	 *
+	 * @return the number of cells
+	 **************************************************************************/
+	public int getCellsLeft() {
+		return cellsLeft;
+	}
+
+	/***************************************************************************
+	 * Gets the number of games won, for CountersChanged
+	 *
+	 * @return the number of wins
+	 **************************************************************************/
+	public int getWins() {
+		return wins;
+	}
+
+	/***************************************************************************
+	 * Gets the number of games lost, for CountersChanged
+	 *
+	 * @return the number of losses
+	 **************************************************************************/
+	public int getLosses() {
+		return losses;
+	}
+
+	@Override
+	public String toString() {
+		switch (type) {
+		case StatusChanged:
+			return type + " " + before + " -> " + after;
+		case CountersChanged:
+			return type + " moves " + moves + ", flags " + flags + ", cells left "
+					+ cellsLeft + ", wins " + wins + ", losses " + losses;
+		case BoardReset:
+			return type.toString();
+		default:
+			return type + " " + cells.size() + " cells";
+		}
+	}
+}
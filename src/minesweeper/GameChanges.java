@@ -0,0 +1,75 @@
+package minesweeper;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/*******************************************************************************
+ * GameChanges is the batch of changes made by one game action, such as a
+ * select, a flag, an undo or a reset, as published by MineSweeperGame. The
+ * batches of a game are numbered in order, so a subscriber can tell if it
+ * missed one.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class GameChanges implements Iterable<GameChange> {
+
+	/** the number of the batch, counting from 1 */
+	private final long sequence;
+
+	/** the changes, in the order they were made */
+	private final List<GameChange> changes;
+
+	/***************************************************************************
+	 * Constructor for GameChanges
+	 *
+	 * @param sequence
+	 *            the number of the batch
+	 * @param changes
+	 *            the changes, not copied
+	 **************************************************************************/
+	GameChanges(long sequence, List<GameChange> changes) {
+		this.sequence = sequence;
+		this.changes = Collections.unmodifiableList(changes);
+	}
+
+	/***************************************************************************
+	 * Getter method for sequence
+	 **************************************************************************/
+	public long getSequence() {
+		return sequence;
+	}
+
+	/***************************************************************************
+	 * Gets the changes
+	 *
+	 * @return the changes, which can't be modified
+	 **************************************************************************/
+	public List<GameChange> getChanges() {
+		return changes;
+	}
+
+	/***************************************************************************
+	 * Finds the change of a given type in the batch
+	 *
+	 * @param type
+	 *            the type of change
+	 * @return the change, or null if the batch has none of that type
+	 **************************************************************************/
+	public GameChange find(GameChange.Type type) {
+		for (GameChange change : changes)
+			if (change.getType() == type)
+				return change;
+		return null;
+	}
+
+	@Override
+	public Iterator<GameChange> iterator() {
+		return changes.iterator();
+	}
+
+	@Override
+	public String toString() {
+		return "#" + sequence + " " + changes;
+	}
+}
@@ -0,0 +1,324 @@
+package minesweeper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/*******************************************************************************
+ * GameEvent is a Java Flight Recorder event raised around one of the game's
+ * hot paths, carrying the size of the board and how long the operation took.
+ * Each event also times its operation for GameMetrics.
+ *
+ * An event is started as its operation starts and finished as it ends. When
+ * no recording is running and GameMetrics is off, or the game's work isn't
+ * wanted in them, starting an event hands back a shared idle event that does
+ * nothing, so the hot paths allocate nothing and pay only for a field read.
+ *
+ * Selects, chords, cascades and status checks are recorded only when they
+ * take at least a millisecond, so a recording of millions of clicks stays
+ * small; the threshold can be lowered in the recording settings.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+@Category("MineSweeper")
+@StackTrace(false)
+abstract class GameEvent extends Event {
+
+	@Label("Rows")
+	int rows;
+
+	@Label("Columns")
+	int cols;
+
+	/** the operation timed for GameMetrics */
+	private final transient GameMetrics.Operation operation;
+
+	/** when the operation started, for GameMetrics */
+	private final transient long start;
+
+	/** false for the idle event, which records nothing */
+	private final transient boolean live;
+
+	/** true while a flight recording is running */
+	private static volatile boolean recording;
+
+	static {
+		FlightRecorder.addListener(new FlightRecorderListener() {
+			@Override
+			public void recorderInitialized(FlightRecorder recorder) {
+				update(recorder);
+			}
+
+			@Override
+			public void recordingStateChanged(Recording changed) {
+				update(FlightRecorder.getFlightRecorder());
+			}
+
+			private void update(FlightRecorder recorder) {
+				recording = recorder.getRecordings().stream()
+						.anyMatch(r -> r.getState() == RecordingState.RUNNING);
+			}
+		});
+	}
+
+	/***************************************************************************
+	 * Constructor for GameEvent: starts timing an operation
+	 *
+	 * @param operation
+	 *            the operation
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 **************************************************************************/
+	GameEvent(GameMetrics.Operation operation, int rows, int cols) {
+		this.operation = operation;
+		this.rows = rows;
+		this.cols = cols;
+		this.live = true;
+		begin();
+		start = GameMetrics.now();
+	}
+
+	/***************************************************************************
+	 * Constructor for GameEvent: creates the idle event of an operation
+	 **************************************************************************/
+	GameEvent(GameMetrics.Operation operation) {
+		this.operation = operation;
+		this.live = false;
+		this.start = 0;
+	}
+
+	/***************************************************************************
+	 * Checks whether anything is listening for events: a flight recording or
+	 * GameMetrics
+	 *
+	 * @return true if events should be started
+	 **************************************************************************/
+	static boolean isActive() {
+		return GameMetrics.ENABLED || recording;
+	}
+
+	/***************************************************************************
+	 * Checks whether the event records anything
+	 *
+	 * @return false for the idle event
+	 **************************************************************************/
+	boolean isLive() {
+		return live;
+	}
+
+	/***************************************************************************
+	 * Stops timing the operation and commits the event
+	 **************************************************************************/
+	void finish() {
+		if (!live)
+			return;
+		GameMetrics.record(operation, start);
+		commit();
+	}
+
+	/***************************************************************************
+	 * Select is raised by MineSweeperGame.select
+	 **************************************************************************/
+	@Name("minesweeper.Select")
+	@Label("Select")
+	@Description("A cell selected, with its cascade and status check")
+	@Threshold("1 ms")
+	static final class Select extends GameEvent {
+
+		@Label("Cells Exposed")
+		int exposed;
+
+		private static final Select IDLE = new Select();
+
+		private Select() {
+			super(GameMetrics.Operation.Select);
+		}
+
+		private Select(int rows, int cols) {
+			super(GameMetrics.Operation.Select, rows, cols);
+		}
+
+		static Select start(int rows, int cols, boolean wanted) {
+			return wanted && isActive() ? new Select(rows, cols) : IDLE;
+		}
+
+		void finish(int exposed) {
+			if (!isLive())
+				return;
+			this.exposed = exposed;
+			finish();
+		}
+	}
+
+	/***************************************************************************
+	 * Chord is raised by MineSweeperGame.chord
+	 **************************************************************************/
+	@Name("minesweeper.Chord")
+	@Label("Chord")
+	@Description("A cell chorded, with the cascades of its neighbors and the status check")
+	@Threshold("1 ms")
+	static final class Chord extends GameEvent {
+
+		@Label("Cells Exposed")
+		int exposed;
+
+		private static final Chord IDLE = new Chord();
+
+		private Chord() {
+			super(GameMetrics.Operation.Chord);
+		}
+
+		private Chord(int rows, int cols) {
+			super(GameMetrics.Operation.Chord, rows, cols);
+		}
+
+		static Chord start(int rows, int cols, boolean wanted) {
+			return wanted && isActive() ? new Chord(rows, cols) : IDLE;
+		}
+
+		void finish(int exposed) {
+			if (!isLive())
+				return;
+			this.exposed = exposed;
+			finish();
+		}
+	}
+
+	/***************************************************************************
+	 * Cascade is raised by MineSweeperGame.revealCells
+	 **************************************************************************/
+	@Name("minesweeper.Cascade")
+	@Label("Cascade")
+	@Description("A cell exposed with the blank region around it")
+	@Threshold("1 ms")
+	static final class Cascade extends GameEvent {
+
+		@Label("Cells Exposed")
+		int exposed;
+
+		private static final Cascade IDLE = new Cascade();
+
+		private Cascade() {
+			super(GameMetrics.Operation.Cascade);
+		}
+
+		private Cascade(int rows, int cols) {
+			super(GameMetrics.Operation.Cascade, rows, cols);
+		}
+
+		static Cascade start(int rows, int cols, boolean wanted) {
+			return wanted && isActive() ? new Cascade(rows, cols) : IDLE;
+		}
+
+		void finish(int exposed) {
+			if (!isLive())
+				return;
+			this.exposed = exposed;
+			finish();
+		}
+	}
+
+	/***************************************************************************
+	 * Status is raised by MineSweeperGame.setGameStatus
+	 **************************************************************************/
+	@Name("minesweeper.Status")
+	@Label("Status")
+	@Description("The game status worked out after a move")
+	@Threshold("1 ms")
+	static final class Status extends GameEvent {
+
+		@Label("Status")
+		String status;
+
+		private static final Status IDLE = new Status();
+
+		private Status() {
+			super(GameMetrics.Operation.Status);
+		}
+
+		private Status(int rows, int cols) {
+			super(GameMetrics.Operation.Status, rows, cols);
+		}
+
+		static Status start(int rows, int cols, boolean wanted) {
+			return wanted && isActive() ? new Status(rows, cols) : IDLE;
+		}
+
+		void finish(GameStatus status) {
+			if (!isLive())
+				return;
+			this.status = status.name();
+			finish();
+		}
+	}
+
+	/***************************************************************************
+	 * Layout is raised by MineSweeperGame.layMines
+	 **************************************************************************/
+	@Name("minesweeper.Layout")
+	@Label("Layout")
+	@Description("The mines laid on a new board and the neighbor counts worked out")
+	static final class Layout extends GameEvent {
+
+		@Label("Mines")
+		int mines;
+
+		private static final Layout IDLE = new Layout();
+
+		private Layout() {
+			super(GameMetrics.Operation.Layout);
+		}
+
+		private Layout(int rows, int cols, int mines) {
+			super(GameMetrics.Operation.Layout, rows, cols);
+			this.mines = mines;
+		}
+
+		static Layout start(int rows, int cols, int mines, boolean wanted) {
+			return wanted && isActive() ? new Layout(rows, cols, mines) : IDLE;
+		}
+	}
+
+	/***************************************************************************
+	 * Repaint is raised by BoardView.paintComponent
+	 **************************************************************************/
+	@Name("minesweeper.Repaint")
+	@Label("Repaint")
+	@Description("The visible part of the board painted")
+	static final class Repaint extends GameEvent {
+
+		@Label("Cells Painted")
+		int painted;
+
+		private static final Repaint IDLE = new Repaint();
+
+		private Repaint() {
+			super(GameMetrics.Operation.Repaint);
+		}
+
+		private Repaint(int rows, int cols) {
+			super(GameMetrics.Operation.Repaint, rows, cols);
+		}
+
+		static Repaint start(int rows, int cols) {
+			return isActive() ? new Repaint(rows, cols) : IDLE;
+		}
+
+		void finish(int painted) {
+			if (!isLive())
+				return;
+			this.painted = painted;
+			finish();
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/*******************************************************************************
+ * GameMetrics keeps latency histograms of the game's hot paths: selecting or
+ * chording a cell, revealing a cascade, setting the status, laying the mines
+ * and painting the board. The same places raise GameEvents for Java Flight
+ * Recorder.
+ *
+ * The histograms are off unless the program is started with the system
+ * property minesweeper.latency set to a file name, for example
+ * -Dminesweeper.latency=latency.csv. They are written to that file when the
+ * program exits. Whether they are on is a constant, so when they are off the
+ * compiler drops the timing altogether.
+ *
+ * Each operation's times are spread over several histograms, picked by
+ * thread, so threads timing the same operation seldom wait on each other.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class GameMetrics {
+
+	/** the system property naming the file the histograms are written to */
+	public static final String PROPERTY = "minesweeper.latency";
+
+	/** the operations timed */
+	public enum Operation {
+		Select, Chord, Cascade, Status, Layout, Repaint
+	}
+
+	/** true if the histograms are kept */
+	static final boolean ENABLED = System.getProperty(PROPERTY) != null;
+
+	/** the number of histograms each operation's times are spread over */
+	private static final int STRIPES = Integer.highestOneBit(
+			Runtime.getRuntime().availableProcessors() * 2 - 1) * 2;
+
+	/** the histograms of each operation, or null if they are off */
+	private static final LatencyHistogram[][] HISTOGRAMS;
+
+	static {
+		if (ENABLED) {
+			HISTOGRAMS = new LatencyHistogram[Operation.values().length][STRIPES];
+			for (LatencyHistogram[] stripes : HISTOGRAMS)
+				for (int i = 0; i < STRIPES; i++)
+					stripes[i] = new LatencyHistogram();
+
+			Path file = Paths.get(System.getProperty(PROPERTY));
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					export(file);
+				} catch (IOException e) {
+					System.err.println("Latencies could not be saved: " + e);
+				}
+			}));
+		} else {
+			HISTOGRAMS = null;
+		}
+	}
+
+	private GameMetrics() {
+	}
+
+	/***************************************************************************
+	 * Gets the time an operation starts at
+	 *
+	 * @return the time by System.nanoTime, or 0 if the histograms are off
+	 **************************************************************************/
+	static long now() {
+		return ENABLED ? System.nanoTime() : 0;
+	}
+
+	/***************************************************************************
+	 * Records how long an operation took, if the histograms are on
+	 *
+	 * @param operation
+	 *            the operation
+	 * @param start
+	 *            when it started, as given by now
+	 **************************************************************************/
+	static void record(Operation operation, long start) {
+		if (!ENABLED)
+			return;
+		long nanos = System.nanoTime() - start;
+		LatencyHistogram histogram = HISTOGRAMS[operation.ordinal()][(int) Thread
+				.currentThread().getId() & (STRIPES - 1)];
+		synchronized (histogram) {
+			histogram.record(nanos);
+		}
+	}
+
+	/***************************************************************************
+	 * Gets every time recorded for an operation so far
+	 *
+	 * @param operation
+	 *            the operation
+	 * @return a copy of the times, empty if the histograms are off
+	 **************************************************************************/
+	public static LatencyHistogram getHistogram(Operation operation) {
+		LatencyHistogram total = new LatencyHistogram();
+		if (ENABLED) {
+			for (LatencyHistogram histogram : HISTOGRAMS[operation.ordinal()]) {
+				synchronized (histogram) {
+					total.add(histogram);
+				}
+			}
+		}
+		return total;
+	}
+
+	/***************************************************************************
+	 * Writes the latencies of every operation to a file, one line each, as
+	 * comma-separated values in microseconds
+	 *
+	 * @param file
+	 *            the file to write
+	 * @throws IOException
+	 *             if the file can't be written
+	 **************************************************************************/
+	public static void export(Path file) throws IOException {
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+			out.println("operation,count,mean_us,p50_us,p90_us,p99_us,p99.9_us,max_us");
+			for (Operation operation : Operation.values()) {
+				LatencyHistogram histogram = getHistogram(operation);
+				out.printf(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n", operation,
+						histogram.getCount(), histogram.getMean() / 1e3,
+						histogram.getPercentile(0.50) / 1e3,
+						histogram.getPercentile(0.90) / 1e3,
+						histogram.getPercentile(0.99) / 1e3,
+						histogram.getPercentile(0.999) / 1e3,
+						histogram.getMax() / 1e3);
+			}
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*******************************************************************************
+ * GameServer hosts games for many players at once over a simple line
+ * protocol on a local TCP port, described in GameSession. Every connection
+ * gets a thread of its own and a game of its own, so sessions never wait on
+ * each other: the only things shared are the counts of sessions, updated as
+ * connections come and go.
+ *
+ * Session threads are small-stacked daemon threads from a cached pool, so
+ * thousands of idle connections cost little and a finished session's thread
+ * is reused by the next one. Searches for no-guess boards run on a fixed pool
+ * of their own, one thread to a search, so however many sessions start
+ * no-guess games at once they take at most one thread per processor and
+ * leave the common pool alone.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class GameServer implements AutoCloseable {
+
+	/** the port the server listens on by default */
+	public static final int DEFAULT_PORT = 7878;
+
+	/** the stack size of each session thread, which is plenty since moves
+	 * are worked out without recursion */
+	private static final long STACK_SIZE = 256 * 1024;
+
+	/** the connections waiting to be accepted */
+	private static final int BACKLOG = 1024;
+
+	/** the listening socket */
+	private final ServerSocket listener;
+
+	/** the threads serving sessions */
+	private final ExecutorService sessions;
+
+	/** the threads searching for no-guess boards */
+	private final ExecutorService searches;
+
+	/** the thread accepting connections */
+	private final Thread acceptor;
+
+	/** the number of sessions open */
+	private final AtomicInteger openSessions = new AtomicInteger();
+
+	/** the number of sessions served since the server started */
+	private final AtomicLong totalSessions = new AtomicLong();
+
+	/***************************************************************************
+	 * Constructor for GameServer: starts listening on the loopback address
+	 * and accepting connections
+	 *
+	 * @param port
+	 *            the port to listen on, or 0 for any free port
+	 * @throws IOException
+	 *             if the port can't be listened on
+	 **************************************************************************/
+	public GameServer(int port) throws IOException {
+		listener = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+
+		AtomicInteger threads = new AtomicInteger();
+		sessions = Executors.newCachedThreadPool(task -> {
+			Thread thread = new Thread(null, task,
+					"game-session-" + threads.incrementAndGet(), STACK_SIZE);
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		AtomicInteger searchThreads = new AtomicInteger();
+		searches = Executors.newFixedThreadPool(
+				Runtime.getRuntime().availableProcessors(), task -> {
+					Thread thread = new Thread(task, "noguess-search-"
+							+ searchThreads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+
+		acceptor = new Thread(this::accept, "game-server");
+		acceptor.start();
+	}
+
+	/***************************************************************************
+	 * Accepts connections until the server is closed, starting a session for
+	 * each
+	 **************************************************************************/
+	private void accept() {
+		while (!listener.isClosed()) {
+			try {
+				Socket socket = listener.accept();
+				openSessions.incrementAndGet();
+				totalSessions.incrementAndGet();
+				sessions.execute(new GameSession(socket, this));
+			} catch (SocketException e) {
+				// the server was closed
+			} catch (IOException e) {
+				System.err.println("Connection failed: " + e);
+			}
+		}
+	}
+
+	/***************************************************************************
+	 * Counts a session as ended, called by the session as it ends
+	 **************************************************************************/
+	void sessionEnded() {
+		openSessions.decrementAndGet();
+	}
+
+	/***************************************************************************
+	 * Gets the threads that sessions' searches for no-guess boards run on
+	 *
+	 * @return the executor
+	 **************************************************************************/
+	ExecutorService getSearches() {
+		return searches;
+	}
+
+	/***************************************************************************
+	 * Gets the port the server is listening on
+	 *
+	 * @return the port
+	 **************************************************************************/
+	public int getPort() {
+		return listener.getLocalPort();
+	}
+
+	/***************************************************************************
+	 * Gets the number of sessions open
+	 *
+	 * @return the number of connections being served
+	 **************************************************************************/
+	public int getOpenSessions() {
+		return openSessions.get();
+	}
+
+	/***************************************************************************
+	 * Gets the number of sessions served since the server started
+	 *
+	 * @return the number of connections accepted
+	 **************************************************************************/
+	public long getTotalSessions() {
+		return totalSessions.get();
+	}
+
+	/***************************************************************************
+	 * Stops accepting connections. Sessions already open are left to finish.
+	 **************************************************************************/
+	@Override
+	public void close() throws IOException {
+		listener.close();
+		sessions.shutdown();
+		searches.shutdown();
+	}
+
+	/***************************************************************************
+	 * Runs a server from the command line until it is killed. Arguments:
+	 * [port], 7878 by default.
+	 **************************************************************************/
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		GameServer server = new GameServer(port);
+		System.out.println("Serving games on port " + server.getPort());
+
+		while (true) {
+			Thread.sleep(10000);
+			System.out.printf("%d sessions open, %d served%n",
+					server.getOpenSessions(), server.getTotalSessions());
+		}
+	}
+}
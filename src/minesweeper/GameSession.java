@@ -0,0 +1,304 @@
+package minesweeper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/*******************************************************************************
+ * GameSession serves one connection to a GameServer. The session owns its
+ * game outright and nothing in it is shared with any other session, so moves
+ * are made on the game with no locking at all. Only the search for a no-guess
+ * board leaves the session, onto the server's own bounded pool of threads.
+ *
+ * The protocol is one command to a line, each answered by one line starting
+ * with OK, or ERR and the reason:
+ *
+ * 		NEW rows cols mines [random|noguess] [seed] [shape]	OK seed
+ * 		SELECT row col									OK status n changes
+ * 		FLAG row col									OK status n changes
+ * 		CHORD row col									OK status n changes
+ * 		MOVES S|F|C row col [S|F|C row col ...]			OK status n changes
+ * 		STATE											OK rows cols mines status
+ * 		QUIT											BYE
+ *
+ * The shape of a new board is square, torus or hex; square if left out.
+ * MOVES makes a batch of selects (S), flags (F) and chords (C) as one action
+ * with one reply. Once the game is won or lost, moves are refused until the
+ * next NEW. Each change is a cell as row,col,value and STATE is
+ * followed by one line per row of the board, with the same values: 0 to 8
+ * for an exposed cell, * for an exposed mine, F for a flag and # for a hidden
+ * cell.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class GameSession implements Runnable {
+
+	/** the most cells a session's board may have */
+	static final int MAX_CELLS = 1 << 20;
+
+	/** the connection */
+	private final Socket socket;
+
+	/** the server, told when the session ends */
+	private final GameServer server;
+
+	/** the game being played, or null before the first NEW */
+	private MineSweeperGame game;
+
+	/** the reply being built, reused for every command */
+	private final StringBuilder reply = new StringBuilder();
+
+	/***************************************************************************
+	 * Constructor for GameSession
+	 *
+	 * @param socket
+	 *            the connection to serve
+	 * @param server
+	 *            the server the connection was made to
+	 **************************************************************************/
+	GameSession(Socket socket, GameServer server) {
+		this.socket = socket;
+		this.server = server;
+	}
+
+	/***************************************************************************
+	 * Reads and answers commands until the client quits or disconnects
+	 **************************************************************************/
+	@Override
+	public void run() {
+		try (Socket s = socket;
+				BufferedReader in = new BufferedReader(new InputStreamReader(
+						s.getInputStream(), StandardCharsets.US_ASCII));
+				Writer out = new BufferedWriter(new OutputStreamWriter(
+						s.getOutputStream(), StandardCharsets.US_ASCII))) {
+			s.setTcpNoDelay(true);
+
+			String line;
+			while ((line = in.readLine()) != null) {
+				reply.setLength(0);
+				boolean quit = answer(line.trim());
+				out.append(reply).append('\n');
+
+				// send once every command already received is answered, so
+				// pipelined commands share a packet
+				if (quit || !in.ready())
+					out.flush();
+				if (quit)
+					break;
+			}
+		} catch (IOException e) {
+			// the client went away; the session just ends
+		} finally {
+			server.sessionEnded();
+		}
+	}
+
+	/***************************************************************************
+	 * Carries out one command, building its reply
+	 *
+	 * @param line
+	 *            the command
+	 * @return true if the client has quit
+	 **************************************************************************/
+	private boolean answer(String line) {
+		String[] words = line.split(" ");
+		String command = words[0].toUpperCase();
+		try {
+			switch (command) {
+			case "NEW":
+				newGame(words);
+				break;
+			case "SELECT":
+			case "FLAG":
+			case "CHORD":
+				if (game == null) {
+					reply.append("ERR no game; send NEW first");
+					break;
+				}
+				if (game.getGameStatus() != GameStatus.NotOverYet) {
+					reply.append("ERR game is over; send NEW");
+					break;
+				}
+				int row = Integer.parseInt(words[1]);
+				int col = Integer.parseInt(words[2]);
+				if (!game.isValidCell(row, col)) {
+					reply.append("ERR no such cell");
+					break;
+				}
+				MoveType type = command.equals("FLAG") ? MoveType.Flag
+						: command.equals("CHORD") ? MoveType.Chord : MoveType.Select;
+				appendChanges(game.play(new Move(type, row, col)));
+				break;
+			case "MOVES":
+				if (game == null) {
+					reply.append("ERR no game; send NEW first");
+					break;
+				}
+				if (game.getGameStatus() != GameStatus.NotOverYet) {
+					reply.append("ERR game is over; send NEW");
+					break;
+				}
+				List<Move> moves = parseMoves(words);
+				if (moves == null)
+					reply.append("ERR bad moves");
+				else
+					appendChanges(game.play(moves));
+				break;
+			case "STATE":
+				if (game == null)
+					reply.append("ERR no game; send NEW first");
+				else
+					appendState();
+				break;
+			case "QUIT":
+				reply.append("BYE");
+				return true;
+			default:
+				reply.append("ERR unknown command ").append(words[0]);
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			reply.setLength(0);
+			reply.append("ERR bad arguments to ").append(command);
+		}
+		return false;
+	}
+
+	/***************************************************************************
+	 * Starts a new game: NEW rows cols mines [random|noguess] [seed] [shape]
+	 *
+	 * @param words
+	 *            the command, split into words
+	 **************************************************************************/
+	private void newGame(String[] words) {
+		int rows = Integer.parseInt(words[1]);
+		int cols = Integer.parseInt(words[2]);
+		int numMines = Integer.parseInt(words[3]);
+		if (rows < 1 || cols < 1 || (long) rows * cols > MAX_CELLS) {
+			reply.append("ERR board must be 1 to ").append(MAX_CELLS).append(" cells");
+			return;
+		}
+		if (numMines < 0 || numMines >= rows * cols) {
+			reply.append("ERR too many mines");
+			return;
+		}
+
+		GenerationMode mode = GenerationMode.Random;
+		if (words.length > 4) {
+			if (words[4].equalsIgnoreCase("noguess"))
+				mode = GenerationMode.NoGuess;
+			else if (!words[4].equalsIgnoreCase("random")) {
+				reply.append("ERR unknown mode ").append(words[4]);
+				return;
+			}
+		}
+		long seed = words.length > 5 ? Long.parseLong(words[5]) : System.nanoTime();
+
+		BoardShape shape = BoardShape.Square;
+		if (words.length > 6) {
+			if (words[6].equalsIgnoreCase("torus"))
+				shape = BoardShape.Torus;
+			else if (words[6].equalsIgnoreCase("hex"))
+				shape = BoardShape.Hex;
+			else if (!words[6].equalsIgnoreCase("square")) {
+				reply.append("ERR unknown shape ").append(words[6]);
+				return;
+			}
+		}
+
+		if (mode == GenerationMode.NoGuess) {
+
+			// search on the server's own threads, one to a session, laying
+			// the board out only once that is set
+			game = new MineSweeperGame(new Board(Topology.of(shape, rows, cols)),
+					numMines, seed, mode, GameStatus.NotOverYet, 0, 0);
+			game.setGenerationExecutor(server.getSearches(), 1);
+			game.reset();
+		} else
+			game = new MineSweeperGame(Topology.of(shape, rows, cols), numMines,
+					seed, mode);
+		reply.append("OK ").append(seed);
+	}
+
+	/***************************************************************************
+	 * Reads the moves of a MOVES command
+	 *
+	 * @param words
+	 *            the command, split into words
+	 * @return the moves, or null if any is not S, F or C or is off the board
+	 **************************************************************************/
+	private List<Move> parseMoves(String[] words) {
+		if (words.length % 3 != 1)
+			return null;
+		List<Move> moves = new ArrayList<>(words.length / 3);
+		for (int i = 1; i < words.length; i += 3) {
+			int row = Integer.parseInt(words[i + 1]);
+			int col = Integer.parseInt(words[i + 2]);
+			if (!game.isValidCell(row, col))
+				return null;
+			if (words[i].equalsIgnoreCase("S"))
+				moves.add(Move.select(row, col));
+			else if (words[i].equalsIgnoreCase("F"))
+				moves.add(Move.flag(row, col));
+			else if (words[i].equalsIgnoreCase("C"))
+				moves.add(Move.chord(row, col));
+			else
+				return null;
+		}
+		return moves;
+	}
+
+	/***************************************************************************
+	 * Builds the reply to a move: the status and every cell the move changed
+	 *
+	 * @param changed
+	 *            the cells the move changed
+	 **************************************************************************/
+	private void appendChanges(ChangeSet changed) {
+		Board board = game.getBoard();
+		reply.append("OK ").append(game.getGameStatus()).append(' ')
+				.append(changed.size());
+		for (int i = 0; i < changed.size(); i++) {
+			reply.append(' ').append(changed.getRow(i)).append(',')
+					.append(changed.getCol(i)).append(',')
+					.append(value(board, changed.getIndex(i)));
+		}
+	}
+
+	/***************************************************************************
+	 * Builds the reply to STATE: the settings and status, then the board one
+	 * row to a line
+	 **************************************************************************/
+	private void appendState() {
+		Board board = game.getBoard();
+		reply.append("OK ").append(game.getRows()).append(' ').append(game.getCols())
+				.append(' ').append(game.getNumMines()).append(' ')
+				.append(game.getGameStatus());
+		for (int row = 0; row < game.getRows(); row++) {
+			reply.append('\n');
+			for (int col = 0; col < game.getCols(); col++)
+				reply.append(value(board, board.index(row, col)));
+		}
+	}
+
+	/***************************************************************************
+	 * Gets the value a cell is shown as to the client
+	 *
+	 * @param board
+	 *            the board
+	 * @param index
+	 *            the packed index of the cell
+	 * @return 0 to 8 or * if exposed, F if flagged, otherwise #
+	 **************************************************************************/
+	static char value(Board board, int index) {
+		if (board.isExposed(index))
+			return board.isMine(index) ? '*' : (char) ('0' + board.getMinecount(index));
+		return board.isFlagged(index) ? 'F' : '#';
+	}
+}
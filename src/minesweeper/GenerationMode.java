@@ -0,0 +1,13 @@
+package minesweeper;
+
+/*******************************************************************************
+ * GenerationMode provides an enum of the ways a board can be laid out.
+ * 		Random: mines anywhere, the first click is moved off a mine if needed
+ * 		NoGuess: the game starts with an opening in the middle of the board
+ * 		from which the whole board can be solved without guessing
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public enum GenerationMode {
+	Random, NoGuess
+}
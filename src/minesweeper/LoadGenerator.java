@@ -0,0 +1,254 @@
+package minesweeper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/*******************************************************************************
+ * LoadGenerator measures how many moves a GameServer keeps up with. It opens
+ * many connections, each playing game after game of random clicks on cells
+ * it hasn't seen exposed, waiting for each reply before the next click, and
+ * reports the moves per second over all connections and how long the
+ * replies took.
+ *
+ * The first second is a warm-up and isn't counted.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class LoadGenerator {
+
+	/** the time before moves are counted, in nanoseconds */
+	private static final long WARM_UP_NANOS = 1_000_000_000L;
+
+	/** the server's port */
+	private final int port;
+
+	/** the board of every game */
+	private final int rows;
+	private final int cols;
+	private final int numMines;
+
+	/***************************************************************************
+	 * Constructor for LoadGenerator
+	 *
+	 * @param port
+	 *            the port the server listens on
+	 * @param rows
+	 *            the number of rows on each board
+	 * @param cols
+	 *            the number of columns on each board
+	 * @param numMines
+	 *            the number of mines on each board
+	 **************************************************************************/
+	public LoadGenerator(int port, int rows, int cols, int numMines) {
+		this.port = port;
+		this.rows = rows;
+		this.cols = cols;
+		this.numMines = numMines;
+	}
+
+	/***************************************************************************
+	 * Runs the load and prints what was measured
+	 *
+	 * @param connections
+	 *            the number of connections to play on at once
+	 * @param seconds
+	 *            how long to play for, after the warm-up
+	 * @param seed
+	 *            the seed the clicks and boards are chosen from
+	 **************************************************************************/
+	public void run(int connections, int seconds, long seed) throws Exception {
+		Client[] clients = new Client[connections];
+		Thread[] threads = new Thread[connections];
+		CountDownLatch connected = new CountDownLatch(connections);
+		SplittableRandom seeds = new SplittableRandom(seed);
+
+		long[] times = new long[2]; // when counting starts and stops
+		CountDownLatch go = new CountDownLatch(1);
+		for (int i = 0; i < connections; i++) {
+			clients[i] = new Client(seeds.split());
+			Client client = clients[i];
+			threads[i] = new Thread(null, () -> client.play(connected, go, times),
+					"load-" + i, 256 * 1024);
+			threads[i].setDaemon(true);
+			threads[i].start();
+		}
+
+		connected.await();
+		long start = System.nanoTime();
+		times[0] = start + WARM_UP_NANOS;
+		times[1] = times[0] + seconds * 1_000_000_000L;
+		go.countDown();
+		for (Thread thread : threads)
+			thread.join();
+
+		LatencyHistogram latencies = new LatencyHistogram();
+		long moves = 0, games = 0, failed = 0;
+		for (Client client : clients) {
+			latencies.add(client.latencies);
+			moves += client.moves;
+			games += client.games;
+			if (client.error != null)
+				failed++;
+		}
+
+		System.out.printf("%d connections, %d x %d boards with %d mines%n",
+				connections, rows, cols, numMines);
+		System.out.printf("%d moves in %d s: %.0f moves/s, %d games finished%n",
+				moves, seconds, moves / (double) seconds, games);
+		System.out.println("latency: " + latencies);
+		if (failed > 0)
+			System.out.println(failed + " connections failed");
+	}
+
+	/***************************************************************************
+	 * Client plays on one connection and keeps its own counts, so the clients
+	 * never share anything while they run
+	 **************************************************************************/
+	private class Client {
+
+		/** chooses the clicks and boards */
+		private final SplittableRandom random;
+
+		/** the cells not yet seen exposed, then the rest */
+		private final int[] hidden = new int[rows * cols];
+
+		/** where each cell is in hidden */
+		private final int[] position = new int[rows * cols];
+
+		/** the number of cells in hidden not yet seen exposed */
+		private int hiddenCount;
+
+		// what was measured
+		private final LatencyHistogram latencies = new LatencyHistogram();
+		private long moves;
+		private long games;
+		private IOException error;
+
+		Client(SplittableRandom random) {
+			this.random = random;
+		}
+
+		/***************************************************************************
+		 * Connects, waits for every client to connect, then plays until the
+		 * time is up
+		 **************************************************************************/
+		void play(CountDownLatch connected, CountDownLatch go, long[] times) {
+			boolean arrived = false;
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+					BufferedReader in = new BufferedReader(new InputStreamReader(
+							socket.getInputStream(), StandardCharsets.US_ASCII));
+					Writer out = new OutputStreamWriter(socket.getOutputStream(),
+							StandardCharsets.US_ASCII)) {
+				socket.setTcpNoDelay(true);
+				connected.countDown();
+				arrived = true;
+				go.await();
+
+				newGame(in, out);
+				long now;
+				while ((now = System.nanoTime()) < times[1]) {
+					int cell = hidden[random.nextInt(hiddenCount)];
+					out.write("SELECT " + cell / cols + " " + cell % cols + "\n");
+					out.flush();
+					String reply = in.readLine();
+					long took = System.nanoTime() - now;
+					if (reply == null || !reply.startsWith("OK "))
+						throw new IOException("bad reply: " + reply);
+
+					boolean counted = now >= times[0];
+					if (counted) {
+						latencies.record(took);
+						moves++;
+					}
+					if (!reply.startsWith("OK NotOverYet")) {
+						if (counted)
+							games++;
+						newGame(in, out);
+					} else {
+						exposed(reply);
+					}
+				}
+				out.write("QUIT\n");
+				out.flush();
+			} catch (IOException e) {
+				error = e;
+
+				// a client that never connected still mustn't hold up the rest
+				if (!arrived)
+					connected.countDown();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/***************************************************************************
+		 * Starts a new game, with every cell hidden
+		 **************************************************************************/
+		private void newGame(BufferedReader in, Writer out) throws IOException {
+			out.write("NEW " + rows + " " + cols + " " + numMines + " random "
+					+ random.nextLong() + "\n");
+			out.flush();
+			String reply = in.readLine();
+			if (reply == null || !reply.startsWith("OK "))
+				throw new IOException("bad reply: " + reply);
+
+			hiddenCount = hidden.length;
+			for (int i = 0; i < hidden.length; i++) {
+				hidden[i] = i;
+				position[i] = i;
+			}
+		}
+
+		/***************************************************************************
+		 * Takes every cell a reply shows exposed out of the hidden cells
+		 *
+		 * @param reply
+		 *            the reply to a SELECT: OK status n row,col,value ...
+		 **************************************************************************/
+		private void exposed(String reply) {
+			String[] words = reply.split(" ");
+			for (int i = 3; i < words.length; i++) {
+				String change = words[i];
+				int first = change.indexOf(',');
+				int second = change.indexOf(',', first + 1);
+				int cell = Integer.parseInt(change, 0, first, 10) * cols
+						+ Integer.parseInt(change, first + 1, second, 10);
+
+				// swap the cell to the end of the hidden cells
+				int at = position[cell];
+				if (at >= hiddenCount)
+					continue;
+				int last = hidden[--hiddenCount];
+				hidden[at] = last;
+				position[last] = at;
+				hidden[hiddenCount] = cell;
+				position[cell] = hiddenCount;
+			}
+		}
+	}
+
+	/***************************************************************************
+	 * Runs the load from the command line against a server on this machine.
+	 * Arguments: [port] [connections] [seconds] [rows cols mines], by default
+	 * 100 connections for 10 seconds on 16 x 16 boards with 40 mines.
+	 **************************************************************************/
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : GameServer.DEFAULT_PORT;
+		int connections = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		int rows = args.length > 5 ? Integer.parseInt(args[3]) : 16;
+		int cols = args.length > 5 ? Integer.parseInt(args[4]) : 16;
+		int numMines = args.length > 5 ? Integer.parseInt(args[5]) : 40;
+
+		new LoadGenerator(port, rows, cols, numMines).run(connections, seconds,
+				System.nanoTime());
+	}
+}
@@ -0,0 +1,99 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/*******************************************************************************
+ * MineProbabilities holds the chance that each hidden cell is a mine, as
+ * worked out by a ProbabilityEngine at one point in the game. Cells next to
+ * exposed numbers each have their own probability; every other hidden cell
+ * shares the same one.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class MineProbabilities {
+
+	/** the solver the probabilities were worked out with */
+	private final Solver solver;
+
+	/** the frontier cells with their own probability, sorted by index */
+	private final int[] cells;
+
+	/** the probability of each frontier cell */
+	private final double[] probabilities;
+
+	/** the probability of every other hidden cell */
+	private final double interior;
+
+	/** a hidden cell away from the frontier, or -1 if there is none */
+	private final int interiorCell;
+
+	/***************************************************************************
+	 * Constructor for MineProbabilities.
+	 *
+	 * @param solver
+	 *            the solver the probabilities were worked out with
+	 * @param cells
+	 *            the frontier cells, sorted by index
+	 * @param probabilities
+	 *            the probability of each frontier cell
+	 * @param interior
+	 *            the probability of every other hidden cell
+	 * @param interiorCell
+	 *            a hidden cell away from the frontier, or -1
+	 **************************************************************************/
+	MineProbabilities(Solver solver, int[] cells, double[] probabilities,
+			double interior, int interiorCell) {
+		this.solver = solver;
+		this.cells = cells;
+		this.probabilities = probabilities;
+		this.interior = interior;
+		this.interiorCell = interiorCell;
+	}
+
+	/***************************************************************************
+	 * Gets the chance that a cell is a mine
+	 *
+	 * @param row
+	 *            the row of the cell
+	 * @param col
+	 *            the column of the cell
+	 * @return the probability, from 0 to 1; exposed cells are 0
+	 **************************************************************************/
+	public double getProbability(int row, int col) {
+		if (solver.isKnownMine(row, col))
+			return 1;
+		if (solver.isKnownSafe(row, col))
+			return 0;
+
+		int found = Arrays.binarySearch(cells, row * solver.getGame().getCols() + col);
+		return found >= 0 ? probabilities[found] : interior;
+	}
+
+	/***************************************************************************
+	 * Gets the probability shared by hidden cells away from the frontier
+	 *
+	 * @return the probability, from 0 to 1
+	 **************************************************************************/
+	public double getInteriorProbability() {
+		return interior;
+	}
+
+	/***************************************************************************
+	 * Finds the hidden cell least likely to be a mine, not counting cells
+	 * already proven safe
+	 *
+	 * @return the index of the cell, or -1 if no cell is unknown
+	 **************************************************************************/
+	public int safestCell() {
+		int best = interiorCell;
+		double bestProbability = interiorCell >= 0 ? interior : 2;
+
+		for (int i = 0; i < cells.length; i++) {
+			if (probabilities[i] < bestProbability) {
+				best = cells[i];
+				bestProbability = probabilities[i];
+			}
+		}
+		return best;
+	}
+}
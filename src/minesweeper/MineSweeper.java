@@ -1,6 +1,12 @@
 package minesweeper;
 
 import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /*******************************************************************************
  * MineSweeper starts up the game, by first asking the user for a board size.
@@ -9,37 +15,40 @@ import javax.swing.*;
  * @version 16 February 2016
  ******************************************************************************/
 public class MineSweeper {
+
+	/** the fewest rows or columns a board can have */
+	public static final int MIN_SIZE = 3;
+
+	/** the most rows or columns a board can have */
+	public static final int MAX_SIZE = 10000;
+
+	/** the largest window opened for a board, the rest is scrolled to */
+	private static final int MAX_FRAME_WIDTH = 1300;
+	private static final int MAX_FRAME_HEIGHT = 900;
+
 	public static void main(String[] args) {
-		int boardSize = 10;
-		int numMines = 10;
 
-		// ask for board size
-		String x = JOptionPane.showInputDialog(null,
-				"Enter in the size of the board. Choose a number between 3 and 20: ");
-		try {
-			boardSize = Integer.parseInt(x);
-			if (boardSize < 3 || boardSize > 20) {
-				JOptionPane.showMessageDialog(null,
-						"You can only enter a number between 3 and 20. Board Size will be set to 10.", "Warning",
-						JOptionPane.WARNING_MESSAGE);
-				boardSize = 10;
-			}
-		} catch (Exception e) {
-			JOptionPane.showMessageDialog(null,
-					"You can only enter a number between 3 and 20. Board Size will be set to 10.", "Warning",
-					JOptionPane.WARNING_MESSAGE);
+		// pick up a game saved when the last window was closed
+		MineSweeperGame saved = loadSavedGame();
+		if (saved != null) {
+			show(new MineSweeperPanel(saved));
+			return;
 		}
 
+		int rows = askSize("rows");
+		int cols = askSize("columns");
+		int numMines = 10;
+
 		// ask for number of mines
 		String y = JOptionPane.showInputDialog(null, "Enter in the number of mines ");
 
 		try {
 			numMines = Integer.parseInt(y);
-			if (numMines < 0 || numMines > (boardSize * boardSize)) {
+			if (numMines < 0 || numMines > (rows * cols)) {
 				JOptionPane.showMessageDialog(null,
 						"That is not a valid number of mines. Mine number will be set to default.", "Warning",
 						JOptionPane.WARNING_MESSAGE);
-				if (boardSize > 3)
+				if (rows * cols > 9)
 					numMines = 10;
 				else
 					numMines = 3;
@@ -48,30 +57,103 @@ public class MineSweeper {
 			JOptionPane.showMessageDialog(null,
 					"That is not a valid number of mines. Mine number will be set to default.", "Warning",
 					JOptionPane.WARNING_MESSAGE);
-			if (boardSize > 3)
+			if (rows * cols > 9)
 				numMines = 10;
 			else
 				numMines = 3;
 
 		}
 
+		// ask whether every board should be solvable without guessing
+		GenerationMode mode = JOptionPane.showConfirmDialog(null,
+				"Only deal boards that can be solved without guessing?",
+				"No-Guess Mode", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION
+						? GenerationMode.NoGuess : GenerationMode.Random;
+
 		// start up the game
+		show(new MineSweeperPanel(rows, cols, numMines, mode));
+	}
+
+	/***************************************************************************
+	 * Opens a window showing a game. The game is saved when the window is
+	 * closed.
+	 *
+	 * @param panel
+	 *            the game's panel
+	 **************************************************************************/
+	private static void show(MineSweeperPanel panel) {
 		JFrame frame = new JFrame("MineSweeper!");
 
 		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		MineSweeperPanel panel = new MineSweeperPanel(boardSize, numMines);
+		frame.addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				panel.saveGame();
+			}
+		});
 
 		frame.getContentPane().add(panel);
 
-		if (boardSize > 10) {
-			frame.setSize(1300, 900);
-		} else if (boardSize > 5) {
-			frame.setSize(800, 800);
-		} else {
-			frame.setSize(500, 300);
-		}
+		// fit the board, but scroll rather than grow past the largest window
+		frame.pack();
+		frame.setSize(Math.min(frame.getWidth(), MAX_FRAME_WIDTH),
+				Math.min(frame.getHeight(), MAX_FRAME_HEIGHT));
 
 		frame.setVisible(true);
+	}
+
+	/***************************************************************************
+	 * Offers to pick up the saved game, if there is one
+	 *
+	 * @return the saved game, or null if there is none or the user declines
+	 **************************************************************************/
+	private static MineSweeperGame loadSavedGame() {
+		Path file = Paths.get(MineSweeperPanel.SAVE_FILE);
+		if (!Files.exists(file) || JOptionPane.showConfirmDialog(null,
+				"Pick up the game you were playing last time?", "Saved Game",
+				JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION)
+			return null;
+
+		// the save is used up; the window saves the game again when closed
+		try {
+			MineSweeperGame game = SavedGame.load(file);
+			Files.delete(file);
+			return game;
+		} catch (IOException e) {
+			JOptionPane.showMessageDialog(null, "The saved game could not be loaded: "
+					+ e.getMessage(), "Warning", JOptionPane.WARNING_MESSAGE);
+			return null;
+		}
+	}
 
+	/***************************************************************************
+	 * Asks the user for one dimension of the board. Sizes out of range are
+	 * replaced with the default of 10.
+	 *
+	 * @param dimension
+	 *            the name of the dimension asked for, "rows" or "columns"
+	 * @return the size entered, or 10 if it was not valid
+	 **************************************************************************/
+	private static int askSize(String dimension) {
+		int size = 10;
+		String message = "You can only enter a number between " + MIN_SIZE
+				+ " and " + MAX_SIZE + ". Number of " + dimension
+				+ " will be set to 10.";
+
+		String x = JOptionPane.showInputDialog(null,
+				"Enter in the number of " + dimension + " on the board. Choose a number between "
+						+ MIN_SIZE + " and " + MAX_SIZE + ": ");
+		try {
+			size = Integer.parseInt(x);
+			if (size < MIN_SIZE || size > MAX_SIZE) {
+				JOptionPane.showMessageDialog(null, message, "Warning",
+						JOptionPane.WARNING_MESSAGE);
+				size = 10;
+			}
+		} catch (Exception e) {
+			JOptionPane.showMessageDialog(null, message, "Warning",
+					JOptionPane.WARNING_MESSAGE);
+		}
+		return size;
 	}
 }
@@ -1,6 +1,9 @@
 package minesweeper;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
 
 /*******************************************************************************
  * MineSweeperGame provides the logic and game-play rules behind MineSweeper. It
@@ -8,25 +11,72 @@ import java.util.*;
  * game the player must click all Cells that are not Mines. The player loses if
  * a mine is clicked.
  * 
+ * A game is also a Flow publisher of its changes. Each action publishes one
+ * batch of typed changes to every subscriber: the cells it exposed, hid or
+ * flagged, the status if it changed and the new counts, so a subscriber can
+ * follow the game without reading the board. Nothing is built while no one
+ * is subscribed, and the game never waits on a subscriber.
+ * 
  * @author Kimberlin Steffens
  * @version 16 February 2016
  ******************************************************************************/
-public class MineSweeperGame {
+public class MineSweeperGame implements Flow.Publisher<GameChanges> {
 
-	/** creates a two dimensional array of Cells */
-	private Cell[][] board;
+	/** the packed state of every Cell on the board */
+	private Board board;
 
 	/** the current game status: Won, Lost, or NotOverYet */
 	private GameStatus status;
 
-	/** the size of the square shaped board */
-	private int boardSize;
+	/** the number of rows on the board */
+	private int rows;
+
+	/** the number of columns on the board */
+	private int cols;
 
 	/** the number of mines to be placed on the board */
 	private int numMines;
 
-	/** number of cells yet to be revealed when revealing all blank cells */
-	private int revealCount;
+	/** which cells of the board are neighbors */
+	private Topology topology;
+
+	/** the neighbors of the Cell a cascade is spreading from */
+	private final int[] around = new int[Topology.MAX_NEIGHBORS];
+
+	/** gives out the seed of each new game, so a run of games repeats */
+	private SplittableRandom seeds;
+
+	/** the seed the current board was laid out from */
+	private long seed;
+
+	/** how each new board is laid out */
+	private GenerationMode mode;
+
+	/** searches for no-guess boards, if that is the mode */
+	private NoGuessGenerator generator;
+
+	/** ready-made boards to take on reset, or null to lay each one out */
+	private BoardPool pool;
+
+	/** what each move of this game changed, for undo and redo */
+	private MoveJournal journal;
+
+	/** records the inputs of each game for replay, or null */
+	private ReplayRecorder recorder;
+
+	/** true while the game is one restored part way through, whose earlier
+	 * moves can't be recorded */
+	private boolean restored;
+
+	/** false for games played only to check boards, whose work is kept out
+	 * of the flight recorder events and GameMetrics */
+	private boolean instrumented = true;
+
+	/** the number of moves made in this game */
+	private int moveCount;
+
+	/** when the first move of this game was made, by System.nanoTime */
+	private long firstMoveNanos;
 
 	/** the number of games won so far */
 	private int winCount;
@@ -34,9 +84,14 @@ public class MineSweeperGame {
 	/** the number of games lost so far */
 	private int lossCount;
 
+	/** publishes the changes of each action, or null if never subscribed to */
+	private volatile SubmissionPublisher<GameChanges> publisher;
+
+	/** the number of batches of changes published */
+	private long sequence;
+
 	/***************************************************************************
-	 * Constructor for MineSweeperGame: initializes all instance variables and
-	 * creates board with correct sizing, then lays mines on the board
+	 * Constructor for MineSweeperGame: creates a square board
 	 * 
 	 * @param boardSize
 	 *            the number the user enters in MineSweeper to set for "this"
@@ -46,66 +101,179 @@ public class MineSweeperGame {
 	 *            "this" numMines
 	 **************************************************************************/
 	public MineSweeperGame(int boardSize, int numMines) {
+		this(boardSize, boardSize, numMines);
+	}
 
-		// set boardSize and number of mines to be laid
-		this.boardSize = boardSize;
-		this.numMines = numMines;
+	/***************************************************************************
+	 * Constructor for MineSweeperGame: initializes all instance variables and
+	 * creates board with correct sizing, then lays mines on the board
+	 * 
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param numMines
+	 *            the number of mines the user enters in MineSweeper to set for
+	 *            "this" numMines
+	 **************************************************************************/
+	public MineSweeperGame(int rows, int cols, int numMines) {
+		this(rows, cols, numMines, new SplittableRandom().nextLong());
+	}
 
-		status = GameStatus.NotOverYet;
+	/***************************************************************************
+	 * Constructor for MineSweeperGame: creates a game whose boards are laid out
+	 * from the given seed, so the same seed always gives the same run of
+	 * boards
+	 * 
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param numMines
+	 *            the number of mines the user enters in MineSweeper to set for
+	 *            "this" numMines
+	 * @param seed
+	 *            the seed the boards are laid out from
+	 **************************************************************************/
+	public MineSweeperGame(int rows, int cols, int numMines, long seed) {
+		this(rows, cols, numMines, seed, GenerationMode.Random);
+	}
+
+	/***************************************************************************
+	 * Constructor for MineSweeperGame: creates a game whose boards are laid out
+	 * from the given seed in the given mode
+	 * 
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param numMines
+	 *            the number of mines the user enters in MineSweeper to set for
+	 *            "this" numMines
+	 * @param seed
+	 *            the seed the boards are laid out from
+	 * @param mode
+	 *            how each new board is laid out
+	 **************************************************************************/
+	public MineSweeperGame(int rows, int cols, int numMines, long seed,
+			GenerationMode mode) {
+		this(Topology.square(rows, cols), numMines, seed, mode, null);
+	}
 
-		// instantiate two dimensional array of Cells with the given board size
-		board = new Cell[boardSize][boardSize];
+	/***************************************************************************
+	 * Constructor for MineSweeperGame: creates a game on a board of any shape,
+	 * such as a torus or a hexagonal grid, whose boards are laid out from the
+	 * given seed in the given mode
+	 * 
+	 * @param topology
+	 *            the size of the board and which of its cells are neighbors
+	 * @param numMines
+	 *            the number of mines laid on each board
+	 * @param seed
+	 *            the seed the boards are laid out from
+	 * @param mode
+	 *            how each new board is laid out
+	 **************************************************************************/
+	public MineSweeperGame(Topology topology, int numMines, long seed,
+			GenerationMode mode) {
+		this(topology, numMines, seed, mode, null);
+	}
 
-		setEmpty();
+	/***************************************************************************
+	 * Constructor for MineSweeperGame: creates a game that takes its boards
+	 * ready-made from a pool, so starting a game doesn't wait for the mines
+	 * to be laid. The board is laid out on the spot only when the pool has
+	 * none ready.
+	 * 
+	 * @param pool
+	 *            the pool of boards, which also gives the size, number of
+	 *            mines and mode of the game
+	 **************************************************************************/
+	public MineSweeperGame(BoardPool pool) {
+		this(Topology.square(pool.getRows(), pool.getCols()), pool.getNumMines(),
+				new SplittableRandom().nextLong(), pool.getMode(), pool);
+	}
+
+	private MineSweeperGame(Topology topology, int numMines, long seed,
+			GenerationMode mode, BoardPool pool) {
+
+		// set board dimensions and number of mines to be laid
+		this.rows = topology.getRows();
+		this.cols = topology.getCols();
+		this.numMines = numMines;
+		this.topology = topology;
+		this.seeds = new SplittableRandom(seed);
+		this.mode = mode;
+		this.pool = pool;
+		if (mode == GenerationMode.NoGuess)
+			setGenerationTimeLimit(NoGuessGenerator.DEFAULT_TIME_LIMIT_MILLIS);
 
-		// place given number of mines on the board
-		layMines(numMines);
+		status = GameStatus.NotOverYet;
+		journal = new MoveJournal(cols);
+
+		// take a board from the pool, or instantiate the board storage with
+		// the given board size and place the mines on it
+		if (!takePooledBoard()) {
+			board = new Board(topology);
+			layOut(nextSeed(), mode == GenerationMode.NoGuess);
+		}
 
-		this.revealCount = 0;
 		this.winCount = 0;
 		this.lossCount = 0;
 	}
 
 	/***************************************************************************
-	 * Sets all cells for the board to not be a mine and to not be exposed- they
-	 * are all blank cells
+	 * Constructor for MineSweeperGame: restores a game part way through, as
+	 * loaded by SavedGame
+	 * 
+	 * @param board
+	 *            the board as it was saved
+	 * @param numMines
+	 *            the number of mines laid on each board
+	 * @param seed
+	 *            the seed the board was laid out from
+	 * @param mode
+	 *            how each new board is laid out
+	 * @param status
+	 *            the status of the game
+	 * @param winCount
+	 *            the number of games won so far
+	 * @param lossCount
+	 *            the number of games lost so far
 	 **************************************************************************/
-	private void setEmpty() {
-		for (int r = 0; r < boardSize; r++)
-			for (int c = 0; c < boardSize; c++)
-
-				// makes board totally clear
-				board[r][c] = new Cell();
+	MineSweeperGame(Board board, int numMines, long seed, GenerationMode mode,
+			GameStatus status, int winCount, int lossCount) {
+		this.rows = board.getRows();
+		this.cols = board.getCols();
+		this.numMines = numMines;
+		this.topology = board.getTopology();
+		this.seeds = new SplittableRandom(seed);
+		this.mode = mode;
+		if (mode == GenerationMode.NoGuess)
+			setGenerationTimeLimit(NoGuessGenerator.DEFAULT_TIME_LIMIT_MILLIS);
+
+		journal = new MoveJournal(cols);
+		this.board = board;
+		this.seed = seed;
+		this.status = status;
+		this.restored = true;
+		this.winCount = winCount;
+		this.lossCount = lossCount;
 	}
-	
+
 	/***************************************************************************
 	 * Sets a new game status as necessary. If all mines are flagged (and no
 	 * non-mine cells are flagged)- or if all non-mine spaces are exposed, then
-	 * the game is Won. Otherwise, it is NotOverYet.
+	 * the game is Won. Otherwise, it is NotOverYet. The board keeps running
+	 * counts of both, so no cells need to be checked.
 	 **************************************************************************/
 	public void setGameStatus (){
-		status = GameStatus.Won;
-
-		for (int r = 0; r < boardSize; r++)
-			for (int c = 0; c < boardSize; c++)
-
-				// if not all non-mine cells are revealed, game isn't over
-				if (!board[r][c].isExposed() && !board[r][c].isMine())
-					status = GameStatus.NotOverYet;
-		
-		boolean checkFlagged = true;
-		
-		for (int r = 0; r < boardSize; r++)
-			for (int c = 0; c < boardSize; c++)
-
-				
-				// if all mine cells (and no other cells) are flagged, game is over
-				if ((board[r][c].isFlagged() && !board[r][c].isMine()) || (!board[r][c].isFlagged() && board[r][c].isMine()))
-					checkFlagged = false;
-		
-		if (checkFlagged) {
+		GameEvent.Status event = GameEvent.Status.start(rows, cols, instrumented);
+		if (board.isCleared())
 			status = GameStatus.Won;
-		}
+		else
+			status = GameStatus.NotOverYet;
+		event.finish(status);
 	}
 
 	/***************************************************************************
@@ -118,64 +286,425 @@ public class MineSweeperGame {
 	 * @return returns the cell in the given row and column
 	 **************************************************************************/
 	public Cell getCell(int row, int col) {
-		return board[row][col];
+		return new Cell(board, board.index(row, col));
+	}
+
+	/***************************************************************************
+	 * Gets the packed storage of the board, for classes in this package that
+	 * read many cells at once
+	 * 
+	 * @return the board
+	 **************************************************************************/
+	Board getBoard() {
+		return board;
 	}
 
 	/***************************************************************************
 	 * Selects a Cell to reveal (unless cell is flagged). Updates the GameStatus
-	 * as needed.
+	 * as needed. Does nothing once the game is over.
 	 * 
 	 * @param row
 	 *            the row the Cell clicked is in
 	 * @param col
 	 *            the column the Cell clicked is in
+	 * @return the Cells exposed by the selection
 	 **************************************************************************/
-	public void select(int row, int col) {
+	public ChangeSet select(int row, int col) {
+		if (isOver())
+			return new ChangeSet(cols);
+		GameEvent.Select event = GameEvent.Select.start(rows, cols, instrumented);
+		GameStatus before = status;
+		countMove();
+		if (recorder != null)
+			recorder.move(MoveType.Select, board.index(row, col));
 
 		// the Cell given as parameter to be selected
-		Cell iCell;
-		iCell = getCell(row, col);
+		Cell iCell = getCell(row, col);
+
+		// the first click is never a mine
+		int relocation = -1;
+		if (iCell.isMine() && !iCell.isFlagged() && isFirstMove())
+			relocation = relocateMine(board.index(row, col));
+
+		// expose the Cell and any blank region around it
+		ChangeSet changed = revealCells(row, col);
+
+		// if mine is clicked the game is lost (flagged cells can't be clicked)
+		if (iCell.isMine() && !iCell.isFlagged())
+			status = GameStatus.Lost;
+
+		// otherwise check if game status is won or not over yet
+		else {
+			setGameStatus();
+		  }
 
-		// if the Cell is not Flagged, expose the Cell
-		if (!iCell.isFlagged())
-			board[row][col].setExposed(true);
+		if (!changed.isEmpty())
+			journal.record(MoveType.Select, changed, relocation, before, status);
+		if (isPublishing())
+			publish(before, GameChange.cells(GameChange.Type.CellsExposed, changed, cols));
+		event.finish(changed.size());
+		return changed;
+	}
 
-		// if the Cell is not a mine or flag, reveal any other necessary Cells
-		if (!board[row][col].isMine() && !board[row][col].isFlagged()) {
+	/***************************************************************************
+	 * Flags a Cell that is not flagged yet, or unflags a flagged Cell. Exposed
+	 * Cells can't be flagged. Updates the GameStatus as needed. Does nothing
+	 * once the game is over.
+	 * 
+	 * @param row
+	 *            the row the Cell clicked is in
+	 * @param col
+	 *            the column the Cell clicked is in
+	 * @return the Cell flagged or unflagged, if any
+	 **************************************************************************/
+	public ChangeSet toggleFlag(int row, int col) {
+		ChangeSet changed = new ChangeSet(cols);
+		if (isOver())
+			return changed;
+		int index = board.index(row, col);
+		GameStatus before = status;
+		countMove();
+		if (recorder != null)
+			recorder.move(MoveType.Flag, index);
+
+		if (!board.isExposed(index)) {
+			board.setFlagged(index, !board.isFlagged(index));
+			changed.add(index);
+		}
 
-			revealCells(row, col);
+		setGameStatus();
+		if (!changed.isEmpty())
+			journal.record(MoveType.Flag, changed, -1, before, status);
+		if (isPublishing())
+			publish(before, GameChange.cells(GameChange.Type.FlagsToggled, changed, cols));
+		return changed;
+	}
 
-			// set the number of Cells that still need to be revealed
-			setRevealCount();
+	/***************************************************************************
+	 * Chords a Cell: if it is an exposed number with as many flags around it
+	 * as its count, exposes all its other neighbors and the blank regions
+	 * around them in one go, as selecting each in turn would. Otherwise
+	 * nothing changes. If one of the flags is wrong, a mine is exposed and
+	 * the game is lost. Updates the GameStatus as needed. Does nothing once
+	 * the game is over.
+	 * 
+	 * @param row
+	 *            the row the Cell clicked is in
+	 * @param col
+	 *            the column the Cell clicked is in
+	 * @return the Cells exposed by the chord
+	 **************************************************************************/
+	public ChangeSet chord(int row, int col) {
+		if (isOver())
+			return new ChangeSet(cols);
+		GameEvent.Chord event = GameEvent.Chord.start(rows, cols, instrumented);
+		ChangeSet changed = new ChangeSet(cols);
+		int index = board.index(row, col);
+		GameStatus before = status;
+		countMove();
+		if (recorder != null)
+			recorder.move(MoveType.Chord, index);
+
+		if (chord(index, changed))
+			status = GameStatus.Lost;
+		else
+			setGameStatus();
 
-			// continue to reveal Cells as needed
-			while (revealCount > 0) {
-				for (int i = 0; i < boardSize; i++) {
-					for (int j = 0; j < boardSize; j++) {
-						iCell = getCell(i, j);
+		if (!changed.isEmpty())
+			journal.record(MoveType.Chord, changed, -1, before, status);
+		if (isPublishing())
+			publish(before, GameChange.cells(GameChange.Type.CellsExposed, changed, cols));
+		event.finish(changed.size());
+		return changed;
+	}
 
-						// only need to reveal un-revealed blank Cells
-						if (iCell.isZero() && !iCell.isRevealed()) {
-							revealCells(i, j);
+	/***************************************************************************
+	 * Makes a move on the board: selects, flags/unflags or chords the Cell
+	 * depending on the type of move
+	 * 
+	 * @param move
+	 *            the move to make
+	 * @return the Cells changed by the move
+	 **************************************************************************/
+	public ChangeSet play(Move move) {
+		switch (move.getType()) {
+		case Flag:
+			return toggleFlag(move.getRow(), move.getCol());
+		case Chord:
+			return chord(move.getRow(), move.getCol());
+		default:
+			return select(move.getRow(), move.getCol());
+		}
+	}
 
-						}
+	/***************************************************************************
+	 * Makes a batch of moves in order as a single action. The status is
+	 * worked out once, after the last move, and subscribers get the whole
+	 * batch as one set of changes. A select or chord that hits a mine loses
+	 * the game, and a move that clears the board wins it; either way the moves
+	 * after it are not made. Each move is still journaled and
+	 * recorded for replay on its own, so undo takes them back one at a time.
+	 * Once the game is over no move is made.
+	 * 
+	 * @param moves
+	 *            the moves to make
+	 * @return the Cells changed by every move, in the order they changed
+	 * @throws IllegalArgumentException
+	 *             if a move is off the board, in which case none is made
+	 **************************************************************************/
+	public ChangeSet play(List<Move> moves) {
+		for (Move move : moves)
+			if (!isValidCell(move.getRow(), move.getCol()))
+				throw new IllegalArgumentException("move is off the board: " + move);
+
+		GameStatus before = status;
+		ChangeSet changed = new ChangeSet(cols);
+		if (isOver())
+			return changed;
+		ChangeSet flagged = new ChangeSet(cols);
+		ChangeSet exposed = isPublishing() ? new ChangeSet(cols) : null;
+		boolean journaled = false;
+
+		for (Move move : moves) {
+			int index = board.index(move.getRow(), move.getCol());
+			int start = changed.size();
+			int relocation = -1;
+			countMove();
+			if (recorder != null)
+				recorder.move(move.getType(), index);
+
+			if (move.getType() == MoveType.Flag) {
+				if (!board.isExposed(index)) {
+					board.setFlagged(index, !board.isFlagged(index));
+					changed.add(index);
+					flagged.add(index);
+				}
+			} else {
+				boolean mine;
+				if (move.getType() == MoveType.Chord)
+					mine = chord(index, changed);
+				else {
+
+					// the first click is never a mine
+					mine = board.isMine(index) && !board.isFlagged(index);
+					if (mine && isFirstMove()) {
+						relocation = relocateMine(index);
+						mine = board.isMine(index);
 					}
+					reveal(index, changed);
 				}
+				if (exposed != null)
+					exposed.addAll(changed, start, changed.size());
+				if (mine)
+					status = GameStatus.Lost;
+			}
 
-				// update the number of cells that need to be revealed
-				setRevealCount();
+			// until the end of the batch the status is the one it started with
+			if (changed.size() > start) {
+				journal.record(move.getType(), changed, start, changed.size(),
+						relocation, before, before);
+				journaled = true;
 			}
+			if (status == GameStatus.Lost || board.isCleared())
+				break;
 		}
 
-		// if mine is clicked the game is lost (flagged cells can't be clicked)
-		if (board[row][col].isMine() && !board[row][col].isFlagged())
-			status = GameStatus.Lost;
-
-		// otherwise check if game status is won or not over yet
-		else {
+		if (status != GameStatus.Lost)
 			setGameStatus();
-		  }
+		if (journaled)
+			journal.setLastStatusAfter(status);
+		if (exposed != null)
+			publish(before, GameChange.cells(GameChange.Type.CellsExposed, exposed, cols),
+					GameChange.cells(GameChange.Type.FlagsToggled, flagged, cols));
+		return changed;
+	}
+
+	/***************************************************************************
+	 * Checks whether the game has been won or lost, after which no more moves
+	 * are made until it is reset or a move is undone
+	 * 
+	 * @return true if the game is over
+	 **************************************************************************/
+	private boolean isOver() {
+		return status != GameStatus.NotOverYet;
+	}
+
+	/***************************************************************************
+	 * Counts a move, starting the clock if it is the first
+	 **************************************************************************/
+	private void countMove() {
+		if (moveCount++ == 0)
+			firstMoveNanos = System.nanoTime();
+	}
+
+	/***************************************************************************
+	 * Gets the number of moves made in this game
+	 * 
+	 * @return the number of selects and flags so far
+	 **************************************************************************/
+	public int getMoveCount() {
+		return moveCount;
+	}
+
+	/***************************************************************************
+	 * Gets how long this game has been played, from its first move
+	 * 
+	 * @return the time in milliseconds, or 0 before the first move
+	 **************************************************************************/
+	public long getElapsedMillis() {
+		return moveCount == 0 ? 0 : (System.nanoTime() - firstMoveNanos) / 1_000_000;
+	}
+
+	/***************************************************************************
+	 * Takes back the last move: hides the Cells it exposed, in the reverse
+	 * order they were exposed, or toggles back the flag it set or removed
+	 * 
+	 * @return the Cells changed back, or none if there is no move to undo
+	 **************************************************************************/
+	public ChangeSet undo() {
+		ChangeSet changed = new ChangeSet(cols);
+		if (!journal.canUndo())
+			return changed;
+		if (recorder != null)
+			recorder.undo(false);
+
+		GameStatus before = status;
+		int move = journal.back();
+		boolean flag = journal.getType(move) == MoveType.Flag;
+		for (int i = journal.getEnd(move) - 1; i >= journal.getStart(move); i--) {
+			int index = journal.getCell(i);
+			if (flag)
+				board.setFlagged(index, !board.isFlagged(index));
+			else
+				board.setExposed(index, false);
+			changed.add(index);
+		}
+
+		// put back a mine the first click moved away
+		if (journal.getRelocation(move) >= 0)
+			board.moveMine(journal.getRelocation(move),
+					journal.getCell(journal.getStart(move)));
+
+		status = journal.getStatusBefore(move);
+		if (isPublishing())
+			publish(before, GameChange.cells(flag ? GameChange.Type.FlagsToggled
+					: GameChange.Type.CellsHidden, changed, cols));
+		return changed;
+	}
+
+	/***************************************************************************
+	 * Makes the last undone move again, changing the same Cells it changed
+	 * the first time
+	 * 
+	 * @return the Cells changed, or none if there is no move to redo
+	 **************************************************************************/
+	public ChangeSet redo() {
+		ChangeSet changed = new ChangeSet(cols);
+		if (!journal.canRedo())
+			return changed;
+		if (recorder != null)
+			recorder.undo(true);
+
+		GameStatus before = status;
+		int move = journal.forward();
+		if (journal.getRelocation(move) >= 0)
+			board.moveMine(journal.getCell(journal.getStart(move)),
+					journal.getRelocation(move));
+
+		boolean flag = journal.getType(move) == MoveType.Flag;
+		for (int i = journal.getStart(move); i < journal.getEnd(move); i++) {
+			int index = journal.getCell(i);
+			if (flag)
+				board.setFlagged(index, !board.isFlagged(index));
+			else
+				board.setExposed(index, true);
+			changed.add(index);
+		}
+
+		status = journal.getStatusAfter(move);
+		if (isPublishing())
+			publish(before, GameChange.cells(flag ? GameChange.Type.FlagsToggled
+					: GameChange.Type.CellsExposed, changed, cols));
+		return changed;
+	}
+
+	/***************************************************************************
+	 * Checks whether there is a move to undo
+	 * 
+	 * @return true if a move has been made since the game started
+	 **************************************************************************/
+	public boolean canUndo() {
+		return journal.canUndo();
+	}
+
+	/***************************************************************************
+	 * Checks whether there is an undone move to redo
+	 * 
+	 * @return true if a move has been undone and no other made since
+	 **************************************************************************/
+	public boolean canRedo() {
+		return journal.canRedo();
+	}
+
+	/***************************************************************************
+	 * Checks whether no Cell has been exposed yet in this game
+	 * 
+	 * @return true if the next select is the first of the game
+	 **************************************************************************/
+	private boolean isFirstMove() {
+		return board.getUnexposedSafeCount() == board.size() - board.getMineCount();
+	}
 
+	/***************************************************************************
+	 * Moves a mine to the first free Cell, scanning from the top left corner.
+	 * The mine stays put if every other Cell is already a mine.
+	 * 
+	 * @param index
+	 *            the index of the mine to move
+	 * @return the index of the Cell the mine moved to, or -1 if it stayed
+	 **************************************************************************/
+	private int relocateMine(int index) {
+		for (int i = 0; i < board.size(); i++) {
+			if (i != index && !board.isMine(i)) {
+				board.moveMine(index, i);
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/***************************************************************************
+	 * Gets the number of rows
+	 * 
+	 * @return the number of rows on the board
+	 **************************************************************************/
+	public int getRows() {
+		return rows;
+	}
+
+	/***************************************************************************
+	 * Gets the number of columns
+	 * 
+	 * @return the number of columns on the board
+	 **************************************************************************/
+	public int getCols() {
+		return cols;
+	}
+
+	/***************************************************************************
+	 * Getter method for topology
+	 **************************************************************************/
+	public Topology getTopology() {
+		return topology;
+	}
+
+	/***************************************************************************
+	 * Gets the number of mines laid on the board each game
+	 * 
+	 * @return the number of mines
+	 **************************************************************************/
+	public int getNumMines() {
+		return numMines;
 	}
 
 	/***************************************************************************
@@ -191,36 +720,265 @@ public class MineSweeperGame {
 	 * Resets the GameBoard by setting it empty and relaying mines
 	 **************************************************************************/
 	public void reset() {
+		if (!takePooledBoard())
+			reset(nextSeed());
+	}
+
+	/***************************************************************************
+	 * Resets the GameBoard to the board laid out from the given seed, such as
+	 * one returned by getSeed for an earlier game
+	 * 
+	 * @param seed
+	 *            the seed to lay the mines out from
+	 **************************************************************************/
+	public void reset(long seed) {
+		layOut(seed, mode == GenerationMode.NoGuess);
+	}
+
+	/***************************************************************************
+	 * Gets how each new board is laid out
+	 * 
+	 * @return the generation mode
+	 **************************************************************************/
+	public GenerationMode getGenerationMode() {
+		return mode;
+	}
+
+	/***************************************************************************
+	 * Turns the flight recorder events and GameMetrics timings of this game
+	 * on or off, so games played only to check boards don't count as play
+	 * 
+	 * @param instrumented
+	 *            false to leave this game's work out
+	 **************************************************************************/
+	void setInstrumented(boolean instrumented) {
+		this.instrumented = instrumented;
+	}
+
+	/***************************************************************************
+	 * Sets how long a search for a no-guess board may take before an ordinary
+	 * board is laid out instead. Has no effect in other modes.
+	 * 
+	 * @param timeLimitMillis
+	 *            the time limit, in milliseconds
+	 **************************************************************************/
+	void setGenerationTimeLimit(long timeLimitMillis) {
+		if (mode == GenerationMode.NoGuess)
+			generator = new NoGuessGenerator(topology, numMines, timeLimitMillis);
+	}
+
+	/***************************************************************************
+	 * Runs the searches for no-guess boards on the given executor rather than
+	 * on every processor. Has no effect in other modes.
+	 * 
+	 * @param executor
+	 *            the executor the searches run on
+	 * @param workers
+	 *            the number of workers each search is split between
+	 **************************************************************************/
+	void setGenerationExecutor(Executor executor, int workers) {
+		if (generator != null)
+			generator = generator.on(executor, workers);
+	}
+
+	/***************************************************************************
+	 * Swaps in a ready-made board from the pool, if there is one, handing the
+	 * old board back to be laid out again
+	 * 
+	 * @return true if a board was taken from the pool
+	 **************************************************************************/
+	private boolean takePooledBoard() {
+		if (pool == null)
+			return false;
+		BoardPool.Entry next = pool.poll();
+		if (next == null)
+			return false;
+
+		if (board != null)
+			pool.recycle(board);
+		GameStatus before = status;
+		endRecording();
+		restored = false;
+		moveCount = 0;
+		board = next.board;
+		seed = next.seed;
+		journal.clear();
+
+		// as laying the board out here would have left it
+		status = next.status;
+		startRecording();
+		if (isPublishing())
+			publish(before, GameChange.boardReset());
+		return true;
+	}
+
+	/***************************************************************************
+	 * Replaces the board with an empty one of the same size, so the next
+	 * board is laid out without touching the one handed out before
+	 * 
+	 * @param empty
+	 *            the board to lay the next game out on
+	 **************************************************************************/
+	void replaceBoard(Board empty) {
+		board = empty;
+	}
+
+	/***************************************************************************
+	 * Picks the seed of the next board. In no-guess mode this searches for a
+	 * board that can be solved without guessing, and settles for an ordinary
+	 * one if the search runs out of time.
+	 * 
+	 * @return the seed of the next board
+	 **************************************************************************/
+	private long nextSeed() {
+		long next = seeds.nextLong();
+		if (generator == null)
+			return next;
+		return generator.findSeed(next).orElse(next);
+	}
+
+	/***************************************************************************
+	 * Empties the board and lays it out again from a seed. With an opening, the
+	 * Cells around the middle of the board are kept free of mines and exposed
+	 * before the game starts, unless there are too many mines to leave them
+	 * free.
+	 * 
+	 * @param seed
+	 *            the seed to lay the mines out from
+	 * @param opening
+	 *            true to start the game with an opening in the middle
+	 **************************************************************************/
+	void layOut(long seed, boolean opening) {
+
+		endRecording();
+		restored = false;
+		moveCount = 0;
 
 		// update game status
+		GameStatus before = status;
 		status = GameStatus.NotOverYet;
-		setEmpty();
-		layMines(numMines);
+		this.seed = seed;
+		board.clear();
+		journal.clear();
+
+		int[] kept = opening ? openingCells() : new int[0];
+		if (numMines > board.size() - kept.length)
+			kept = new int[0];
+		layMines(numMines, kept);
 
+		if (kept.length > 0) {
+			revealCells(rows / 2, cols / 2);
+			setGameStatus();
+		}
+		startRecording();
+		if (isPublishing())
+			publish(before, GameChange.boardReset());
 	}
 
 	/***************************************************************************
-	 * Places the given number of mines on the board randomly
+	 * Records the inputs of every game from now on, starting with the current
+	 * one unless it was restored part way through. The recording of each game
+	 * is written out when the next starts.
 	 * 
-	 * @param numMines
-	 *            the number of mines to be placed
+	 * @param recorder
+	 *            the recorder, or null to stop recording
 	 **************************************************************************/
-	private void layMines(int numMines) {
-		int i = 0;
+	public void setRecorder(ReplayRecorder recorder) {
+		endRecording();
+		this.recorder = recorder;
+		startRecording();
+	}
 
-		Random random = new Random();
-		while (i < numMines) {
+	/***************************************************************************
+	 * Starts recording the game just laid out, if recording. Games on a
+	 * graph aren't recorded, as a replay can't rebuild their neighbors.
+	 **************************************************************************/
+	private void startRecording() {
+		if (recorder != null && !restored
+				&& topology.getShape() != BoardShape.Graph)
+			recorder.startGame(this);
+	}
 
-			// place in random row and column
-			int c = random.nextInt(boardSize);
-			int r = random.nextInt(boardSize);
+	/***************************************************************************
+	 * Finishes the recording of the game as it ends or is abandoned
+	 **************************************************************************/
+	private void endRecording() {
+		if (recorder != null)
+			recorder.endGame(status);
+	}
 
-			// set only if there is not already a mine there
-			if (!board[r][c].isMine()) {
-				board[r][c].setMine(true);
-				i++;
-			}
+	/***************************************************************************
+	 * Gets the Cells of the opening: the middle Cell and its neighbors
+	 * 
+	 * @return the indices of the Cells, in increasing order
+	 **************************************************************************/
+	private int[] openingCells() {
+		int middle = board.index(rows / 2, cols / 2);
+		int[] indices = new int[Topology.MAX_NEIGHBORS + 1];
+		int count = topology.neighbors(middle, indices);
+		indices[count] = middle;
+		indices = Arrays.copyOf(indices, count + 1);
+		Arrays.sort(indices);
+		return indices;
+	}
+
+	/***************************************************************************
+	 * Gets the seed the current board was laid out from
+	 * 
+	 * @return the seed of the current board
+	 **************************************************************************/
+	public long getSeed() {
+		return seed;
+	}
+
+	/***************************************************************************
+	 * Places the given number of mines on the board randomly, using the seed
+	 * of the current board. Uses Floyd's sampling: each step picks a cell
+	 * among the first j + 1 and, if that one is already a mine, takes cell j
+	 * instead, so every mine costs exactly one random draw however full the
+	 * board is. Cells to be kept free are skipped over, so the sampling runs
+	 * over the remaining Cells only.
+	 * 
+	 * @param numMines
+	 *            the number of mines to be placed
+	 * @param kept
+	 *            the Cells to keep free of mines, in increasing order
+	 **************************************************************************/
+	private void layMines(int numMines, int[] kept) {
+		GameEvent.Layout event = GameEvent.Layout.start(rows, cols, numMines,
+				instrumented);
+		SplittableRandom random = new SplittableRandom(seed);
+		int size = board.size() - kept.length;
+
+		for (int j = size - Math.min(numMines, size); j < size; j++) {
+			int pick = skipKept(random.nextInt(j + 1), kept);
+
+			// cell j can't have been picked yet, so it is always free
+			if (board.isMine(pick))
+				board.setMine(skipKept(j, kept), true);
+			else
+				board.setMine(pick, true);
 		}
+
+		// mines don't move from here on, so count neighbors just once
+		findNeighbors();
+		event.finish();
+	}
+
+	/***************************************************************************
+	 * Maps a position among the Cells not kept free to the index of the Cell
+	 * 
+	 * @param position
+	 *            the position among the Cells that aren't kept free
+	 * @param kept
+	 *            the Cells kept free, in increasing order
+	 * @return the index of the Cell
+	 **************************************************************************/
+	private static int skipKept(int position, int[] kept) {
+		for (int index : kept)
+			if (position >= index)
+				position++;
+		return position;
 	}
 
 	/***************************************************************************
@@ -236,125 +994,128 @@ public class MineSweeperGame {
 	public boolean isValidCell(int row, int col) {
 
 		// check if out of bounds
-		if (row > boardSize - 1 || row < 0 || col > boardSize - 1 || col < 0)
+		if (row > rows - 1 || row < 0 || col > cols - 1 || col < 0)
 			return false;
 		return true;
 	}
 
 	/***************************************************************************
-	 * Finds the number of neighboring mines for all the cells on the board
+	 * Finds the number of neighboring mines for all the cells on the board.
+	 * This is done once when the mines are laid; the counts are then kept on
+	 * the board and updated whenever a mine is moved.
 	 **************************************************************************/
 	public void findNeighbors() {
-		Cell checkCell;
-
-		// loop through each Cell
-		for (int i = 0; i < boardSize; i++) {
-			for (int j = 0; j < boardSize; j++) {
-				int numNeighbors = 0;
-
-				// check for neighboring mines
-				for (int r = i - 1; r <= i + 1; r++) {
-					for (int s = j - 1; s <= j + 1; s++) {
-
-						// ensure that it doesn't check out of bounds
-						if (isValidCell(r, s)) {
-							checkCell = getCell(r, s);
-							if (checkCell.isMine() && !(r == i && s == j))
-								numNeighbors++;
-						}
-
-					}
-				}
-
-				// set the Cell's Minecount to the number of neighbors found
-				board[i][j].setMinecount(numNeighbors);
-			}
-		}
+		board.computeMinecounts();
 	}
 
 	/***************************************************************************
-	 * Reveals Cells. Reveals only Cell clicked if the Cell has neighbors. If
-	 * not, it reveals surrounding Cells of the Cell clicked
+	 * Reveals Cells. Exposes the Cell clicked and, if it has no neighboring
+	 * mines, keeps exposing outward until the whole blank region and its
+	 * numbered border are showing. The exposed Cells double as the work list,
+	 * so each Cell is visited once and only Cells that change are touched.
 	 * 
 	 * @param row
 	 *            the row of the Cell to be revealed
 	 * @param col
 	 *            the column of the Cell to be revealed
+	 * @return the Cells exposed, in the order they were exposed
 	 **************************************************************************/
-	public void revealCells(int row, int col) {
-
-		// Cell given as parameter
-		Cell iCell = getCell(row, col);
-
-		// current surrounding Cell being checked
-		Cell checkCell;
-
-		// only reveal the clicked cell if it has neighbors
-		if (!iCell.isMine() && !iCell.isFlagged()) {
-			iCell.setExposed(true);
-
-			// reveal surrounding cells for a blank cell
-			if (iCell.getMinecount() == 0) {
-
-				for (int r = row - 1; r <= row + 1; r++) {
-					for (int c = col - 1; c <= col + 1; c++) {
-
-						// ensure cell is in bounds
-						if (isValidCell(r, c)) {
-							checkCell = getCell(r, c);
-
-							// ensure that flags are left alone
-							if (!checkCell.isFlagged()) {
-								checkCell.setExposed(true);
-
-								if (checkCell.getMinecount() == 0)
-
-									// the Cell has no neighbors, so is "Zero"
-									checkCell.setIsZero(true);
-
-							}
-						}
-					}
-				}
+	public ChangeSet revealCells(int row, int col) {
+		ChangeSet changed = new ChangeSet(cols);
+		reveal(board.index(row, col), changed);
+		return changed;
+	}
 
-				// this cell has been revealed, so set isRevealed to true
-				iCell.setIsRevealed(true);
-			}
+	/***************************************************************************
+	 * Reveals a Cell and the blank region around it, as revealCells does,
+	 * adding the Cells exposed to a set that may already hold others
+	 * 
+	 * @param index
+	 *            the index of the Cell to be revealed
+	 * @param changed
+	 *            the set the Cells exposed are added to
+	 **************************************************************************/
+	private void reveal(int index, ChangeSet changed) {
+		GameEvent.Cascade event = GameEvent.Cascade.start(rows, cols, instrumented);
+		int start = changed.size();
+
+		// flagged and already exposed Cells are left alone, and a mine does
+		// not spread
+		if (!board.isFlagged(index) && !board.isExposed(index)) {
+			board.setExposed(index, true);
+			changed.add(index);
+			if (!board.isMine(index))
+				spread(changed, start);
 		}
+
+		event.finish(changed.size() - start);
 	}
 
 	/***************************************************************************
-	 * RevealCount counts how many blank cells still need to be revealed.
+	 * Exposes the neighbors of a chorded Cell, if it is an exposed number with
+	 * as many flags around it as its count. Each neighbor that is neither
+	 * flagged nor exposed is revealed along with any blank region around it.
 	 * 
-	 * This is determined by the boolean values for two Cell variables isZero
-	 * and isRevealed: isZero is true for any Cell found to be blank in the
-	 * revealCells method while isRevealed is true if a cell has been revealed
-	 * in the revealCells method.
+	 * @param index
+	 *            the index of the Cell chorded
+	 * @param changed
+	 *            the set the Cells exposed are added to
+	 * @return true if a mine was exposed
 	 **************************************************************************/
-	public void setRevealCount() {
-		revealCount = 0;
-
-		// the current cell being checked
-		Cell iCell;
+	private boolean chord(int index, ChangeSet changed) {
+		int count = board.getMinecount(index);
+		if (!board.isExposed(index) || board.isMine(index) || count == 0)
+			return false;
 
-		for (int i = 0; i < boardSize; i++) {
-			for (int j = 0; j < boardSize; j++) {
-				iCell = getCell(i, j);
+		// a list of its own, as revealing spreads through around
+		int[] chorded = new int[Topology.MAX_NEIGHBORS];
+		int neighborCount = topology.neighbors(index, chorded);
+		int flags = 0;
+		for (int k = 0; k < neighborCount; k++)
+			if (board.isFlagged(chorded[k]))
+				flags++;
+		if (flags != count)
+			return false;
 
-				// increment only if the Cell is zero and hasn't been revealed
-				if (iCell.isZero() && !iCell.isRevealed())
-					revealCount++;
+		boolean mine = false;
+		for (int k = 0; k < neighborCount; k++) {
+			int check = chorded[k];
+			if (!board.isExposed(check) && !board.isFlagged(check)) {
+				mine |= board.isMine(check);
+				reveal(check, changed);
 			}
 		}
+		return mine;
 	}
 
 	/***************************************************************************
-	 * Gets the value of revealCount
+	 * Spreads a cascade outward from the Cells exposed so far, exposing the
+	 * neighbors of every blank Cell among them
 	 * 
-	 * @return the revealCount
+	 * @param changed
+	 *            the Cells exposed, to which every Cell it exposes is added
+	 * @param from
+	 *            the position in changed of the first Cell of the cascade
 	 **************************************************************************/
-	public int getRevealCount() {
-		return revealCount;
+	private void spread(ChangeSet changed, int from) {
+		for (int i = from; i < changed.size(); i++) {
+			int index = changed.getIndex(i);
+
+			// only blank Cells spread to their neighbors
+			if (board.getMinecount(index) != 0)
+				continue;
+
+			int count = topology.neighbors(index, around);
+			for (int k = 0; k < count; k++) {
+				int check = around[k];
+
+				// ensure that flags are left alone
+				if (!board.isExposed(check) && !board.isFlagged(check)) {
+					board.setExposed(check, true);
+					changed.add(check);
+				}
+			}
+		}
 	}
 
 	/***************************************************************************
@@ -371,6 +1132,8 @@ public class MineSweeperGame {
 	 **************************************************************************/
 	public void incrementWinCount() {
 		winCount++;
+		if (isPublishing())
+			publish(status);
 	}
 
 	/***************************************************************************
@@ -387,6 +1150,69 @@ public class MineSweeperGame {
 	 **************************************************************************/
 	public void incrementLossCount() {
 		lossCount++;
+		if (isPublishing())
+			publish(status);
+	}
+
+	/***************************************************************************
+	 * Subscribes to the changes of every action from now on. Changes are
+	 * delivered in order on a thread of the common pool. Moves are made on
+	 * the event thread, so a subscriber that falls behind never holds up
+	 * the game: once its buffer of batches is full, further batches are
+	 * dropped for it. The gap in sequence numbers tells it so, and it
+	 * should then read the board again.
+	 * 
+	 * @param subscriber
+	 *            the subscriber
+	 **************************************************************************/
+	@Override
+	public synchronized void subscribe(Flow.Subscriber<? super GameChanges> subscriber) {
+		if (publisher == null)
+			publisher = new SubmissionPublisher<>();
+		publisher.subscribe(subscriber);
+	}
+
+	/***************************************************************************
+	 * Tells every subscriber there will be no more changes, as when the game
+	 * is put away. Later subscribers are told straight away.
+	 **************************************************************************/
+	public synchronized void closeChanges() {
+		if (publisher == null)
+			publisher = new SubmissionPublisher<>();
+		publisher.close();
+	}
+
+	/***************************************************************************
+	 * Checks whether anyone is subscribed to the changes
+	 * 
+	 * @return true if the changes of each action should be published
+	 **************************************************************************/
+	private boolean isPublishing() {
+		return publisher != null && publisher.hasSubscribers();
 	}
 
+	/***************************************************************************
+	 * Publishes the changes of an action: the cells it changed, the status if
+	 * it changed and the new counts
+	 * 
+	 * @param before
+	 *            the status before the action
+	 * @param cellChanges
+	 *            the changes of cells the action made; those of no cells are
+	 *            left out
+	 **************************************************************************/
+	private void publish(GameStatus before, GameChange... cellChanges) {
+		List<GameChange> changes = new ArrayList<>(cellChanges.length + 2);
+		for (GameChange change : cellChanges)
+			if (change.getCells() == null || !change.getCells().isEmpty())
+				changes.add(change);
+		if (status != before)
+			changes.add(GameChange.status(before, status));
+		changes.add(GameChange.counters(moveCount,
+				board.getCorrectFlagCount() + board.getWrongFlagCount(),
+				board.getUnexposedSafeCount(), winCount, lossCount));
+
+		// drop rather than block when a subscriber's buffer is full
+		publisher.offer(new GameChanges(++sequence, changes), null);
+	}
 }
\ No newline at end of file
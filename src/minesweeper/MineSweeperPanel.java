@@ -3,6 +3,9 @@ package minesweeper;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /*******************************************************************************
  * MineSweeperPanel provides the GUI behind the MineSweeperGame
@@ -12,14 +15,27 @@ import java.awt.event.*;
  ******************************************************************************/
 public class MineSweeperPanel extends JPanel {
 
+	/** the file every game is recorded to */
+	private static final String REPLAY_FILE = "replays.bin";
+
+	/** the file the results of every game are kept in */
+	private static final String STATISTICS_FILE = "statistics.log";
+
+	/** the file a game in progress is saved to when the window closes */
+	public static final String SAVE_FILE = "savegame.bin";
+
+	// the board display
+	private BoardView board;
+
 	// JButtons
-	private JButton[][] board;
 	private JButton quitButton;
 	private JButton resetButton;
 	private JButton newGameButton;
+	private JButton hintButton;
+	private JButton undoButton;
+	private JButton redoButton;
 
 	// JPanels
-	private JPanel center;
 	private JPanel top;
 	private JPanel bottom;
 
@@ -31,145 +47,245 @@ public class MineSweeperPanel extends JPanel {
 	private JLabel wins;
 	private JLabel losses;
 
-	private Cell iCell;
-	private int boardSize;
+	private int rows;
+	private int cols;
 	private int numMines;
 
 	// the game
 	private MineSweeperGame game;
 
+	// the results of every game played, or null if they can't be kept
+	private StatisticsStore statistics;
+
+	// work out the hints, while they are shown
+	private Solver solver;
+	private ProbabilityEngine engine;
+
 	public MineSweeperPanel(int boardSize, int numMines) {
+		this(boardSize, boardSize, numMines);
+	}
+
+	public MineSweeperPanel(int rows, int cols, int numMines) {
+		this(rows, cols, numMines, GenerationMode.Random);
+	}
+
+	public MineSweeperPanel(int rows, int cols, int numMines,
+			GenerationMode mode) {
+		this(new MineSweeperGame(BoardPool.of(rows, cols, numMines, mode)));
+	}
+
+	public MineSweeperPanel(MineSweeperGame game) {
+
+		this.rows = game.getRows();
+		this.cols = game.getCols();
+		this.numMines = game.getNumMines();
+		this.game = game;
 
-		this.boardSize = boardSize;
-		this.numMines = numMines;
+		setLayout(new BorderLayout());
 
 		// create panels
-		center = new JPanel();
 		top = new JPanel();
 		bottom = new JPanel();
 
 		// create listener
 		MyListener listener = new MyListener();
 
-		// create game
-		game = new MineSweeperGame(boardSize, numMines);
+		// record every game for replay, unless the replay file can't be opened
+		try {
+			game.setRecorder(ReplayWriter.open(Paths.get(REPLAY_FILE)).newRecorder());
+		} catch (IOException e) {
+			System.err.println("Games will not be recorded: " + e);
+		}
+
+		// keep the results of every game, unless the file can't be opened
+		try {
+			statistics = StatisticsStore.open(Paths.get(STATISTICS_FILE));
+		} catch (IOException e) {
+			System.err.println("Statistics will not be kept: " + e);
+		}
+
+		// create icons to be used
+		flagIcon = new ImageIcon("red-flag.png");
+		mineIcon = new ImageIcon("mine.png");
 
 		// create the board
-		center.setLayout(new GridLayout(boardSize, boardSize));
 		top.setLayout(new BorderLayout());
-		board = new JButton[boardSize][boardSize];
-
-		// create buttons for each Cell
-		for (int row = 0; row < boardSize; row++)
-			for (int col = 0; col < boardSize; col++) {
-				board[row][col] = new JButton("");
-				board[row][col].setPreferredSize(new Dimension(45, 35));
-				board[row][col].addMouseListener(listener);
-				center.add(board[row][col]);
-			}
+		board = new BoardView(game, rows, cols, flagIcon, mineIcon);
+		board.addMouseListener(listener);
 
-		// create three buttons
+		// create six buttons
 		quitButton = new JButton("Quit");
 		resetButton = new JButton("Reset");
 		newGameButton = new JButton("New Game");
+		hintButton = new JButton("Show Hints");
+		undoButton = new JButton("Undo");
+		redoButton = new JButton("Redo");
 
 		// add listeners
 		resetButton.addMouseListener(listener);
 		quitButton.addMouseListener(listener);
 		newGameButton.addMouseListener(listener);
+		hintButton.addMouseListener(listener);
+		undoButton.addMouseListener(listener);
+		redoButton.addMouseListener(listener);
 
 		// add to bottom panel
 		bottom.add(quitButton);
 		bottom.add(resetButton);
 		bottom.add(newGameButton);
+		bottom.add(hintButton);
+		bottom.add(undoButton);
+		bottom.add(redoButton);
 
 		// create labels on top panel
-		wins = new JLabel("Wins: " + game.getWinCount());
-		losses = new JLabel("Losses: " + game.getLossCount());
+		wins = new JLabel();
+		losses = new JLabel();
+		displayCounts();
 		top.add(new JLabel("MineSweeper"));
 		top.add(wins);
 		top.add(losses);
 
 		// set layouts for top and bottom panels
 		top.setLayout(new GridLayout(3, 1));
-		bottom.setLayout(new GridLayout(3, 1));
+		bottom.setLayout(new GridLayout(6, 1));
 
 		// add all panels to contentPane
 		add(top, BorderLayout.NORTH);
-		add(center, BorderLayout.CENTER);
+		add(new JScrollPane(board), BorderLayout.CENTER);
 		add(bottom, BorderLayout.SOUTH);
 
-		// create icons to be used
-		flagIcon = new ImageIcon("red-flag.png");
-		mineIcon = new ImageIcon("mine.png");
+	}
 
-		displayBoard();
+	/***************************************************************************
+	 * Saves the game to SAVE_FILE if it is still being played, so it can be
+	 * picked up again next time, or removes the old save if it is over
+	 **************************************************************************/
+	public void saveGame() {
+		try {
+			if (game.getGameStatus() == GameStatus.NotOverYet)
+				SavedGame.save(game, Paths.get(SAVE_FILE));
+			else
+				Files.deleteIfExists(Paths.get(SAVE_FILE));
+		} catch (IOException e) {
+			JOptionPane.showMessageDialog(null, "The game could not be saved: "
+					+ e.getMessage(), "Warning", JOptionPane.WARNING_MESSAGE);
+		}
+	}
 
+	/***************************************************************************
+	 * Keeps the result of the game just finished and shows the new counts
+	 *
+	 * @param millis
+	 *            how long the game took, taken as it ended
+	 * @param moves
+	 *            the number of moves made, taken as it ended
+	 **************************************************************************/
+	private void recordResult(long millis, int moves) {
+		if (statistics != null)
+			statistics.recordGame(game.getRows(), game.getCols(),
+					game.getNumMines(), game.getGenerationMode(),
+					game.getGameStatus(), millis, moves);
+		displayCounts();
+	}
+
+	/***************************************************************************
+	 * Shows the number of games won and lost with these settings, over every
+	 * game played, or in this window if the statistics aren't kept
+	 **************************************************************************/
+	private void displayCounts() {
+		if (statistics != null) {
+			ConfigSummary summary = statistics.getSummary(rows, cols, numMines,
+					game.getGenerationMode());
+			wins.setText("Wins: " + summary.getWins());
+			losses.setText("Losses: " + summary.getLosses());
+		} else {
+			wins.setText("Wins: " + game.getWinCount());
+			losses.setText("Losses: " + game.getLossCount());
+		}
 	}
 
 	/***************************************************************************
 	 * Displays the cells with correct numbers or icons (flag/ mine icons)
 	 **************************************************************************/
 	private void displayBoard() {
+		board.repaint();
+	}
 
-		// find MineCount/ number of neighbors for each Cell
-		game.findNeighbors();
-
-		for (int r = 0; r < boardSize; r++)
-			for (int c = 0; c < boardSize; c++) {
-
-				iCell = game.getCell(r, c);
-
-				board[r][c].setIcon(null);
-				board[r][c].setText("");
-				
-				// if a flag, give a flag Icon
-				if (iCell.isFlagged()) {
-					board[r][c].setIcon(flagIcon);
-
-					// set blank text to ensure nothing gets written on it
-					board[r][c].setText("");
-				}
-
-				// Set mine icon
-				if ((iCell.isMine() && iCell.isExposed()) || (iCell.isMine() && game.getGameStatus() != GameStatus.NotOverYet)) {
-					// remove flag icon if needed
-					board[r][c].setIcon(null);
-					board[r][c].setIcon(mineIcon);
-
-					// set blank text to ensure nothing gets written on it
-					board[r][c].setText("");
-				}
-
+	/***************************************************************************
+	 * Displays only the cells that changed, leaving the rest of the board as
+	 * it is
+	 * 
+	 * @param changed
+	 *            the cells changed by the last action
+	 **************************************************************************/
+	private void displayCells(ChangeSet changed) {
+		board.repaintCells(changed);
+	}
 
-				if (iCell.isExposed() && !iCell.isFlagged()) {
-					board[r][c].setEnabled(false);
-					if (iCell.getMinecount() > 0 && !iCell.isMine())
+	/***************************************************************************
+	 * Turns the hints on or off. Hints show the chance of each hidden cell
+	 * being a mine.
+	 **************************************************************************/
+	private void toggleHints() {
+		if (solver == null) {
+			solver = new Solver(game);
+			engine = new ProbabilityEngine(solver);
+			board.setProbabilities(engine.compute());
+			hintButton.setText("Hide Hints");
+		} else {
+			solver = null;
+			engine = null;
+			board.setProbabilities(null);
+			hintButton.setText("Show Hints");
+		}
+		displayBoard();
+	}
 
-						// put mineCount on exposed Cells with neighbor mines
-						board[r][c].setText("" + iCell.getMinecount());
-				} else
-					board[r][c].setEnabled(true);
+	/***************************************************************************
+	 * Brings the hints up to date after a move, if they are shown
+	 * 
+	 * @param changed
+	 *            the cells changed by the move
+	 **************************************************************************/
+	private void updateHints(ChangeSet changed) {
+		if (solver != null) {
+			solver.update(changed);
+			board.setProbabilities(engine.compute());
+		}
+	}
 
-			} 
+	/***************************************************************************
+	 * Starts the hints over after the game is reset, if they are shown
+	 **************************************************************************/
+	private void resetHints() {
+		if (solver != null) {
+			solver.reset();
+			board.setProbabilities(engine.compute());
+		}
 	}
 		
 	/***************************************************************************
 	 * Checks the game status and shows an appropriate message when game is
-	 * lost/won.
+	 * lost/won. The result is recorded before the message is shown, so the
+	 * time the message is up doesn't count towards the game.
 	 **************************************************************************/
 		private void checkStatus () {
+
+			// how long the game took and how many moves, as it ended
+			long millis = game.getElapsedMillis();
+			int moves = game.getMoveCount();
 			
 			// if game is lost
 			if (game.getGameStatus() == GameStatus.Lost) {
 				displayBoard();
-				JOptionPane.showMessageDialog(null, 
-						"You Lose. \n The game will reset.");
 
 				// update the number of games lost
 				game.incrementLossCount();
-				losses.setText("Losses: " + game.getLossCount());
+				recordResult(millis, moves);
+				JOptionPane.showMessageDialog(null, 
+						"You Lose. \n The game will reset.");
 				game.reset();
+				resetHints();
 				displayBoard();
 
 			}
@@ -177,14 +293,15 @@ public class MineSweeperPanel extends JPanel {
 			// if game is won
 			if (game.getGameStatus() == GameStatus.Won) {
 				displayBoard();
-				JOptionPane
-						.showMessageDialog(null,
-								"You Win: all mines have been found!\n The game will reset");
 
 				// update number of games won
 				game.incrementWinCount();
-				wins.setText("Wins: " + game.getWinCount());
+				recordResult(millis, moves);
+				JOptionPane
+						.showMessageDialog(null,
+								"You Win: all mines have been found!\n The game will reset");
 				game.reset();
+				resetHints();
 				displayBoard();
 			}
 		
@@ -196,6 +313,10 @@ public class MineSweeperPanel extends JPanel {
 	 **************************************************************************/
 	private class MyListener implements MouseListener {
 
+		/** true after a chord made with both buttons, until the second is
+		 * let go */
+		private boolean chorded;
+
 		@Override
 		public void mouseClicked(MouseEvent e) {
 			// leave blank- unneeded
@@ -219,18 +340,32 @@ public class MineSweeperPanel extends JPanel {
 		@Override
 		public void mouseReleased(MouseEvent e) {
 
-			// if left-click
-			if (e.getButton() == MouseEvent.BUTTON1) {
+			// the cells changed by this click, if a Cell was clicked
+			ChangeSet changed = null;
 
-				for (int r = 0; r < boardSize; r++)
-					for (int c = 0; c < boardSize; c++)
+			// the button let go second after a chord does nothing more
+			if (chorded && board == e.getSource()) {
+				chorded = false;
+				return;
+			}
 
-						// if it is a Cell button
-						if (board[r][c] == e.getSource())
-							game.select(r, c);
+			// if middle-click, or one button let go while the other is down,
+			// chord the Cell
+			boolean chord = board == e.getSource() && isChord(e);
+			if (chord) {
+				chorded = e.getButton() != MouseEvent.BUTTON2;
+				if (isOnBoard(e))
+					changed = game.chord(board.rowAt(e.getY()),
+							board.colAt(e.getX()));
+			}
 
-				displayBoard();
-				checkStatus();
+			// if left-click
+			if (e.getButton() == MouseEvent.BUTTON1) {
+
+				// if it is a Cell
+				if (board == e.getSource() && isOnBoard(e) && !chord)
+					changed = game.select(board.rowAt(e.getY()),
+							board.colAt(e.getX()));
 				
 				// if "Quit" is clicked
 				if (quitButton == e.getSource()) {
@@ -239,8 +374,9 @@ public class MineSweeperPanel extends JPanel {
 					if (JOptionPane
 							.showConfirmDialog(
 									null,
-									"Are you sure you want to quit the game? You will lose all progress.",
+									"Are you sure you want to quit the game? It will be saved for next time.",
 									"WARNING", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
+						saveGame();
 						System.exit(0);
 					}
 				}
@@ -253,11 +389,31 @@ public class MineSweeperPanel extends JPanel {
 									"Are you sure you want to reset the game? You will lose all progress.",
 									"WARNING", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
 						game.reset();
+						resetHints();
 						displayBoard();
 					}
 					
 				}
 
+				// if "Show Hints" or "Hide Hints" is clicked
+				if (hintButton == e.getSource())
+					toggleHints();
+
+				// if "Undo" is clicked, take back the last move; the hints
+				// can't be updated backwards, so they are worked out again
+				if (undoButton == e.getSource()) {
+					ChangeSet undone = game.undo();
+					resetHints();
+					if (solver != null)
+						displayBoard();
+					else
+						displayCells(undone);
+				}
+
+				// if "Redo" is clicked, make the undone move again
+				if (redoButton == e.getSource())
+					changed = game.redo();
+
 				// if "New Game" is clicked, start a new completely new game
 				if (newGameButton == e.getSource()) {
 					JOptionPane.showMessageDialog(null,
@@ -272,32 +428,52 @@ public class MineSweeperPanel extends JPanel {
 			// if right-click
 			if (e.getButton() == MouseEvent.BUTTON3) {
 
-				for (int r = 0; r < boardSize; r++) {
-					for (int c = 0; c < boardSize; c++) {
-
-						Cell iCell = game.getCell(r, c);
-
-						// if button clicked is a Cell
-						if (board[r][c] == e.getSource())
-
-							// if is not flagged yet, flag it
-							if (!iCell.isFlagged() && !iCell.isExposed())
-								iCell.setFlagged(true);
-
-							// if is already flagged, unflag it
-							else
-								iCell.setFlagged(false);					
-
-					}
-				}
-				displayBoard();
-				game.setGameStatus();
-				checkStatus();
+				// if a Cell is clicked, flag or unflag it
+				if (board == e.getSource() && isOnBoard(e) && !chord)
+					changed = game.toggleFlag(board.rowAt(e.getY()),
+							board.colAt(e.getX()));
 			}
 			
-			// update board
-			displayBoard();
+			// update board: only the changed cells while the game goes on,
+			// the whole board once it is won or lost or hints have changed
+			if (changed != null) {
+				updateHints(changed);
+				if (game.getGameStatus() != GameStatus.NotOverYet)
+					checkStatus();
+				else if (solver != null)
+					displayBoard();
+				else
+					displayCells(changed);
+			}
 			
 		}
+
+		/***********************************************************************
+		 * Checks whether a mouse event on the board landed on a Cell
+		 * 
+		 * @param e
+		 *            the mouse event
+		 * @return true if the event is over a Cell
+		 **********************************************************************/
+		private boolean isOnBoard(MouseEvent e) {
+			return board.rowAt(e.getY()) >= 0 && board.colAt(e.getX()) >= 0;
+		}
+
+		/***********************************************************************
+		 * Checks whether a button let go makes a chord: the middle button, or
+		 * the left or right button while the other is still down
+		 * 
+		 * @param e
+		 *            the mouse event
+		 * @return true if the event is a chord
+		 **********************************************************************/
+		private boolean isChord(MouseEvent e) {
+			int down = e.getModifiersEx();
+			return e.getButton() == MouseEvent.BUTTON2
+					|| e.getButton() == MouseEvent.BUTTON1
+							&& (down & MouseEvent.BUTTON3_DOWN_MASK) != 0
+					|| e.getButton() == MouseEvent.BUTTON3
+							&& (down & MouseEvent.BUTTON1_DOWN_MASK) != 0;
+		}
 	}
-}
+}
\ No newline at end of file
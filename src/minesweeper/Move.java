@@ -0,0 +1,94 @@
+package minesweeper;
+
+/*******************************************************************************
+ * Move describes one action on the board: the type of move and the cell it
+ * is made on. Moves are made on a game with MineSweeperGame.play.
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public class Move {
+	private final MoveType type;
+	private final int row;
+	private final int col;
+
+	/***************************************************************************
+	 * Constructor for Move.
+	 * 
+	 * @param type
+	 *            the type of move
+	 * @param row
+	 *            the row of the cell the move is made on
+	 * @param col
+	 *            the column of the cell the move is made on
+	 **************************************************************************/
+	public Move(MoveType type, int row, int col) {
+		this.type = type;
+		this.row = row;
+		this.col = col;
+	}
+
+	/***************************************************************************
+	 * Creates a move that selects a cell
+	 * 
+	 * @param row
+	 *            the row of the cell
+	 * @param col
+	 *            the column of the cell
+	 * @return the move
+	 **************************************************************************/
+	public static Move select(int row, int col) {
+		return new Move(MoveType.Select, row, col);
+	}
+
+	/***************************************************************************
+	 * Creates a move that flags or unflags a cell
+	 * 
+	 * @param row
+	 *            the row of the cell
+	 * @param col
+	 *            the column of the cell
+	 * @return the move
+	 **************************************************************************/
+	public static Move flag(int row, int col) {
+		return new Move(MoveType.Flag, row, col);
+	}
+
+	/***************************************************************************
+	 * Creates a move that chords a cell, exposing its unflagged neighbors
+	 * 
+	 * @param row
+	 *            the row of the cell
+	 * @param col
+	 *            the column of the cell
+	 * @return the move
+	 **************************************************************************/
+	public static Move chord(int row, int col) {
+		return new Move(MoveType.Chord, row, col);
+	}
+
+	/***************************************************************************
+	 * Getter method for type
+	 **************************************************************************/
+	public MoveType getType() {
+		return type;
+	}
+
+	/***************************************************************************
+	 * Getter method for row
+	 **************************************************************************/
+	public int getRow() {
+		return row;
+	}
+
+	/***************************************************************************
+	 * Getter method for col
+	 **************************************************************************/
+	public int getCol() {
+		return col;
+	}
+
+	@Override
+	public String toString() {
+		return type + " " + row + " " + col;
+	}
+}
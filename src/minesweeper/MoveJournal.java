@@ -0,0 +1,242 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/*******************************************************************************
+ * MoveJournal records what each move of a game changed, so moves can be undone
+ * and redone. A move is kept as the cells it changed, not a copy of the
+ * board: the cells exposed by a select or a chord, or the one cell a flag
+ * toggled. The cells of every move share one ChangeSet, back to back, so the
+ * journal costs a few bytes per changed cell however large the board is.
+ *
+ * Undone moves stay in the journal until a new move is recorded, which
+ * discards them.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class MoveJournal {
+
+	/** the starting number of moves the arrays have room for */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** the cells changed by each move, one move after another */
+	private final ChangeSet cells;
+
+	/** where each move's cells start */
+	private int[] starts;
+
+	/** where the first select moved a mine to, or -1 if it moved none */
+	private int[] relocations;
+
+	/** the type of each move and the game status before and after it */
+	private byte[] kinds;
+
+	/** the number of moves recorded, including undone ones */
+	private int count;
+
+	/** the number of moves currently applied */
+	private int position;
+
+	/***************************************************************************
+	 * Constructor for MoveJournal: creates an empty journal
+	 *
+	 * @param cols
+	 *            the number of columns on the board
+	 **************************************************************************/
+	public MoveJournal(int cols) {
+		this.cells = new ChangeSet(cols);
+		this.starts = new int[INITIAL_CAPACITY];
+		this.relocations = new int[INITIAL_CAPACITY];
+		this.kinds = new byte[INITIAL_CAPACITY];
+	}
+
+	/***************************************************************************
+	 * Records a move, discarding any moves undone before it
+	 *
+	 * @param type
+	 *            the type of the move
+	 * @param changed
+	 *            the cells the move changed, the one clicked first
+	 * @param relocation
+	 *            where the move moved a mine to, or -1
+	 * @param before
+	 *            the game status before the move
+	 * @param after
+	 *            the game status after the move
+	 **************************************************************************/
+	public void record(MoveType type, ChangeSet changed, int relocation,
+			GameStatus before, GameStatus after) {
+		record(type, changed, 0, changed.size(), relocation, before, after);
+	}
+
+	/***************************************************************************
+	 * Records a move whose cells are part of a larger set, as when several
+	 * moves are made at once
+	 *
+	 * @param type
+	 *            the type of the move
+	 * @param changed
+	 *            the cells changed, among others
+	 * @param from
+	 *            the position in changed of the move's first cell
+	 * @param to
+	 *            one past the position of the move's last cell
+	 * @param relocation
+	 *            where the move moved a mine to, or -1
+	 * @param before
+	 *            the game status before the move
+	 * @param after
+	 *            the game status after the move
+	 **************************************************************************/
+	public void record(MoveType type, ChangeSet changed, int from, int to,
+			int relocation, GameStatus before, GameStatus after) {
+		if (position < count)
+			cells.truncate(starts[position]);
+		count = position;
+
+		if (count == starts.length) {
+			starts = Arrays.copyOf(starts, count * 2);
+			relocations = Arrays.copyOf(relocations, count * 2);
+			kinds = Arrays.copyOf(kinds, count * 2);
+		}
+		starts[count] = cells.size();
+		relocations[count] = relocation;
+		kinds[count] = (byte) (type.ordinal() | before.ordinal() << 2
+				| after.ordinal() << 4);
+		cells.addAll(changed, from, to);
+		position = ++count;
+	}
+
+	/***************************************************************************
+	 * Changes the game status recorded after the last move, as when a batch
+	 * of moves works out the status only once all are made
+	 *
+	 * @param after
+	 *            the game status after the move
+	 **************************************************************************/
+	void setLastStatusAfter(GameStatus after) {
+		kinds[count - 1] = (byte) (kinds[count - 1] & ~(3 << 4) | after.ordinal() << 4);
+	}
+
+	/***************************************************************************
+	 * Forgets every move, as needed when a new game starts
+	 **************************************************************************/
+	public void clear() {
+		cells.clear();
+		count = 0;
+		position = 0;
+	}
+
+	/***************************************************************************
+	 * Checks whether there is a move to undo
+	 *
+	 * @return true if a move is applied
+	 **************************************************************************/
+	public boolean canUndo() {
+		return position > 0;
+	}
+
+	/***************************************************************************
+	 * Checks whether there is an undone move to redo
+	 *
+	 * @return true if a move has been undone
+	 **************************************************************************/
+	public boolean canRedo() {
+		return position < count;
+	}
+
+	/***************************************************************************
+	 * Steps back over the last applied move
+	 *
+	 * @return the number of the move to undo
+	 **************************************************************************/
+	int back() {
+		return --position;
+	}
+
+	/***************************************************************************
+	 * Steps forward over the next undone move
+	 *
+	 * @return the number of the move to redo
+	 **************************************************************************/
+	int forward() {
+		return position++;
+	}
+
+	/***************************************************************************
+	 * Gets the type of a move
+	 *
+	 * @param move
+	 *            the number of the move
+	 * @return the type
+	 **************************************************************************/
+	MoveType getType(int move) {
+		return MoveType.values()[kinds[move] & 3];
+	}
+
+	/***************************************************************************
+	 * Gets the game status before a move
+	 *
+	 * @param move
+	 *            the number of the move
+	 * @return the status
+	 **************************************************************************/
+	GameStatus getStatusBefore(int move) {
+		return GameStatus.values()[kinds[move] >> 2 & 3];
+	}
+
+	/***************************************************************************
+	 * Gets the game status after a move
+	 *
+	 * @param move
+	 *            the number of the move
+	 * @return the status
+	 **************************************************************************/
+	GameStatus getStatusAfter(int move) {
+		return GameStatus.values()[kinds[move] >> 4 & 3];
+	}
+
+	/***************************************************************************
+	 * Gets where a move moved a mine to, to keep the first click safe
+	 *
+	 * @param move
+	 *            the number of the move
+	 * @return the index of the cell, or -1 if no mine was moved
+	 **************************************************************************/
+	int getRelocation(int move) {
+		return relocations[move];
+	}
+
+	/***************************************************************************
+	 * Gets where a move's cells start among the cells of every move
+	 *
+	 * @param move
+	 *            the number of the move
+	 * @return the position of the move's first cell
+	 **************************************************************************/
+	int getStart(int move) {
+		return starts[move];
+	}
+
+	/***************************************************************************
+	 * Gets where a move's cells end among the cells of every move
+	 *
+	 * @param move
+	 *            the number of the move
+	 * @return the position after the move's last cell
+	 **************************************************************************/
+	int getEnd(int move) {
+		return move + 1 < count ? starts[move + 1] : cells.size();
+	}
+
+	/***************************************************************************
+	 * Gets a changed cell
+	 *
+	 * @param i
+	 *            the position of the cell among the cells of every move
+	 * @return the packed index of the cell
+	 **************************************************************************/
+	int getCell(int i) {
+		return cells.getIndex(i);
+	}
+}
@@ -0,0 +1,40 @@
+package minesweeper;
+
+/*******************************************************************************
+ * MoveStrategy decides the moves of a player that isn't a person, such as the
+ * bots played by SimulationRunner. A strategy plays one game at a time and is
+ * told when a new game starts, so it may keep state about the current game.
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public interface MoveStrategy {
+
+	/***************************************************************************
+	 * Called when a new game starts, before its first move
+	 * 
+	 * @param game
+	 *            the game about to be played
+	 **************************************************************************/
+	void newGame(MineSweeperGame game);
+
+	/***************************************************************************
+	 * Chooses the next move of the game
+	 * 
+	 * @param game
+	 *            the game being played
+	 * @return the move to make, or null to give up the game
+	 **************************************************************************/
+	Move nextMove(MineSweeperGame game);
+
+	/***************************************************************************
+	 * Called after each move is made, with the cells it changed. Does nothing
+	 * unless a strategy needs to follow the changes.
+	 * 
+	 * @param move
+	 *            the move made
+	 * @param changed
+	 *            the cells the move changed
+	 **************************************************************************/
+	default void moveMade(Move move, ChangeSet changed) {
+	}
+}
@@ -0,0 +1,14 @@
+package minesweeper;
+
+/*******************************************************************************
+ * MoveType provides an enum of the different moves a player can make.
+ * 		Select: expose a cell, as a left-click does
+ * 		Flag: flag or unflag a cell, as a right-click does
+ * 		Chord: expose the unflagged neighbors of an exposed number whose
+ * 		mines are all flagged, as a middle-click or both buttons do
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public enum MoveType {
+	Select, Flag, Chord
+}
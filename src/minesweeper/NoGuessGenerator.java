@@ -0,0 +1,182 @@
+package minesweeper;
+
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/*******************************************************************************
+ * NoGuessGenerator looks for boards that can be solved without guessing. A
+ * board is identified by its seed, so the search tries candidate seeds: each
+ * one is laid out with an opening in the middle of the board and played by a
+ * Solver, exposing only cells it has proven safe. A candidate the solver
+ * clears is accepted.
+ *
+ * Candidates are tried on every processor at once, each thread stepping
+ * through its own share of them on its own scratch game. The search gives up
+ * after a time limit, so a board is never more than that long in coming even
+ * when no-guess boards are rare for the size and number of mines. A server
+ * running many searches at once can instead give them an executor of their
+ * own and fewer workers each, so they share a bounded number of threads.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class NoGuessGenerator {
+
+	/** how long a search may take by default, in milliseconds */
+	public static final long DEFAULT_TIME_LIMIT_MILLIS = 500;
+
+	/** the size of the board and which of its cells are neighbors */
+	private final Topology topology;
+
+	private final int numMines;
+
+	/** how long a search may take, in milliseconds */
+	private final long timeLimitMillis;
+
+	/** runs the workers of a search, or null to use the common pool */
+	private final Executor executor;
+
+	/** the number of workers each search is split between */
+	private final int workers;
+
+	/***************************************************************************
+	 * Constructor for NoGuessGenerator.
+	 *
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param numMines
+	 *            the number of mines on the board
+	 * @param timeLimitMillis
+	 *            how long a search may take, in milliseconds
+	 **************************************************************************/
+	public NoGuessGenerator(int rows, int cols, int numMines, long timeLimitMillis) {
+		this(Topology.square(rows, cols), numMines, timeLimitMillis);
+	}
+
+	/***************************************************************************
+	 * Constructor for NoGuessGenerator: searches boards of any shape
+	 *
+	 * @param topology
+	 *            the size of the board and which of its cells are neighbors
+	 * @param numMines
+	 *            the number of mines on the board
+	 * @param timeLimitMillis
+	 *            how long a search may take, in milliseconds
+	 **************************************************************************/
+	public NoGuessGenerator(Topology topology, int numMines, long timeLimitMillis) {
+		this(topology, numMines, timeLimitMillis, null,
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	private NoGuessGenerator(Topology topology, int numMines,
+			long timeLimitMillis, Executor executor, int workers) {
+		this.topology = topology;
+		this.numMines = numMines;
+		this.timeLimitMillis = timeLimitMillis;
+		this.executor = executor;
+		this.workers = workers;
+	}
+
+	/***************************************************************************
+	 * Gets a generator like this one whose searches run on the given executor
+	 *
+	 * @param executor
+	 *            the executor the workers of each search run on
+	 * @param workers
+	 *            the number of workers each search is split between
+	 * @return the generator
+	 **************************************************************************/
+	NoGuessGenerator on(Executor executor, int workers) {
+		return new NoGuessGenerator(topology, numMines, timeLimitMillis, executor,
+				workers);
+	}
+
+	/***************************************************************************
+	 * Searches for a board that can be solved without guessing. The
+	 * candidates are derived from the given seed, and of those found in time
+	 * the earliest is returned.
+	 *
+	 * @param base
+	 *            the seed the candidate seeds are derived from
+	 * @return the seed of a no-guess board, or empty if none was found within
+	 *         the time limit
+	 **************************************************************************/
+	public OptionalLong findSeed(long base) {
+		long deadline = System.nanoTime() + timeLimitMillis * 1_000_000;
+
+		// the earliest candidate found so far; later ones stop being tried
+		AtomicLong found = new AtomicLong(Long.MAX_VALUE);
+
+		if (executor == null)
+			IntStream.range(0, workers).parallel()
+					.forEach(worker -> search(base, worker, deadline, found));
+		else
+			CompletableFuture.allOf(IntStream.range(0, workers)
+					.mapToObj(worker -> CompletableFuture.runAsync(
+							() -> search(base, worker, deadline, found), executor))
+					.toArray(CompletableFuture[]::new)).join();
+
+		long k = found.get();
+		return k == Long.MAX_VALUE ? OptionalLong.empty()
+				: OptionalLong.of(SimulationRunner.gameSeed(base, k));
+	}
+
+	/***************************************************************************
+	 * Tries one worker's share of the candidates until one is found, the
+	 * earliest found so far is passed, or time runs out
+	 *
+	 * @param base
+	 *            the seed the candidate seeds are derived from
+	 * @param worker
+	 *            the number of the worker, which is its first candidate
+	 * @param deadline
+	 *            when to give up, as System.nanoTime
+	 * @param found
+	 *            the earliest candidate found by any worker
+	 **************************************************************************/
+	private void search(long base, int worker, long deadline, AtomicLong found) {
+		// an empty board, laid out only by isSolvable, on a game whose
+		// selects stay out of the play timings
+		MineSweeperGame scratch = new MineSweeperGame(new Board(topology),
+				numMines, base, GenerationMode.Random, GameStatus.NotOverYet, 0, 0);
+		scratch.setInstrumented(false);
+		Solver solver = new Solver(scratch);
+
+		for (long k = worker; k < found.get(); k += workers) {
+			if (System.nanoTime() - deadline > 0)
+				return;
+			if (isSolvable(scratch, solver, SimulationRunner.gameSeed(base, k)))
+				found.accumulateAndGet(k, Math::min);
+		}
+	}
+
+	/***************************************************************************
+	 * Checks whether the no-guess layout of a seed can be solved without
+	 * guessing
+	 *
+	 * @param scratch
+	 *            a game of the right size to lay the board out on
+	 * @param solver
+	 *            a solver of the scratch game
+	 * @param seed
+	 *            the seed of the board
+	 * @return true if exposing only proven safe cells clears the board
+	 **************************************************************************/
+	static boolean isSolvable(MineSweeperGame scratch, Solver solver, long seed) {
+		scratch.layOut(seed, true);
+		solver.reset();
+
+		int cols = scratch.getCols();
+		while (scratch.getGameStatus() == GameStatus.NotOverYet) {
+			int index = solver.nextSafeCell();
+			if (index < 0)
+				return false;
+			solver.update(scratch.select(index / cols, index % cols));
+		}
+		return scratch.getGameStatus() == GameStatus.Won;
+	}
+}
@@ -0,0 +1,597 @@
+package minesweeper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*******************************************************************************
+ * ProbabilityEngine works out the chance that each hidden cell is a mine,
+ * starting from what a Solver has already proven.
+ *
+ * Hidden cells next to exposed numbers (the frontier) are split into
+ * components: groups of cells linked by the numbers they share, which don't
+ * affect each other except through the total number of mines. Every mine
+ * layout of a component that agrees with its numbers is counted, grouped by
+ * how many mines it uses, with the components enumerated in parallel. The
+ * components are then combined, weighting each total by the number of ways
+ * the remaining mines fit in the hidden cells away from the frontier.
+ *
+ * A component's counts depend only on its cells and the mines its numbers
+ * still need, so they are cached under that description and recomputed only
+ * when one of those changes. Components too large to enumerate are treated
+ * like the cells away from the frontier.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class ProbabilityEngine {
+
+	/** components with more cells than this are not enumerated */
+	private static final int MAX_COMPONENT_CELLS = 200;
+
+	/** the most layouts tried for one component before giving up on it */
+	private static final long MAX_NODES = 2_000_000;
+
+	/** the solver whose deductions the probabilities start from */
+	private final Solver solver;
+
+	/** the board being worked on, which changes when the game swaps one in */
+	private Board board;
+
+	private final int cols;
+
+	/** which cells of the board are neighbors */
+	private Topology topology;
+
+	/** the neighbors of the cell forEachUnknownNeighbor is looking around */
+	private final int[] around = new int[Topology.MAX_NEIGHBORS];
+
+	/** log(n!) for every n up to the number of cells */
+	private final double[] logFactorial;
+
+	/** the counts of each component seen in the last computation */
+	private Map<ComponentKey, ComponentCounts> cache;
+
+	/***************************************************************************
+	 * Constructor for ProbabilityEngine.
+	 *
+	 * @param solver
+	 *            the solver of the game, kept up to date by the caller
+	 **************************************************************************/
+	public ProbabilityEngine(Solver solver) {
+		this.solver = solver;
+		this.board = solver.getGame().getBoard();
+		this.cols = board.getCols();
+		this.cache = new HashMap<>();
+
+		logFactorial = new double[board.size() + 1];
+		for (int n = 1; n <= board.size(); n++)
+			logFactorial[n] = logFactorial[n - 1] + Math.log(n);
+	}
+
+	/***************************************************************************
+	 * Gets the solver the probabilities start from
+	 *
+	 * @return the solver
+	 **************************************************************************/
+	public Solver getSolver() {
+		return solver;
+	}
+
+	/***************************************************************************
+	 * Works out the probability of every hidden cell being a mine
+	 *
+	 * @return the probabilities
+	 **************************************************************************/
+	public MineProbabilities compute() {
+		board = solver.getGame().getBoard();
+		topology = board.getTopology();
+
+		// find the frontier and count the hidden cells away from it
+		BitSet frontier = new BitSet(board.size());
+		int unknown = 0;
+		for (int i = 0; i < board.size(); i++) {
+			if (solver.isUnknown(i))
+				unknown++;
+			else if (solver.isConstraint(i))
+				forEachUnknownNeighbor(i, frontier::set);
+		}
+
+		List<Component> components = findComponents(frontier);
+
+		// enumerate the components not already cached, in parallel
+		Map<ComponentKey, ComponentCounts> previous = cache;
+		components.parallelStream().forEach(c -> {
+			c.counts = previous.get(c.key);
+			if (c.counts == null)
+				c.counts = c.enumerate();
+		});
+
+		cache = new HashMap<>();
+		List<Component> solved = new ArrayList<>();
+		int interiorCells = unknown - frontier.cardinality();
+		for (Component c : components) {
+			cache.put(c.key, c.counts);
+			if (c.counts.tooLarge)
+				interiorCells += c.key.cellCount();
+			else
+				solved.add(c);
+		}
+
+		int minesLeft = solver.getGame().getNumMines() - solver.getKnownMineCount();
+		return combine(solved, interiorCells, minesLeft, frontier);
+	}
+
+	/***************************************************************************
+	 * Splits the frontier into components of cells linked by shared numbers
+	 *
+	 * @param frontier
+	 *            the hidden cells next to exposed numbers
+	 * @return the components
+	 **************************************************************************/
+	private List<Component> findComponents(BitSet frontier) {
+		List<Component> components = new ArrayList<>();
+		BitSet seenCells = new BitSet(board.size());
+		BitSet seenCenters = new BitSet(board.size());
+
+		for (int start = frontier.nextSetBit(0); start >= 0; start = frontier.nextSetBit(start + 1)) {
+			if (seenCells.get(start))
+				continue;
+
+			// breadth first from cell to number to cell
+			ChangeSet cells = new ChangeSet(cols);
+			ChangeSet centers = new ChangeSet(cols);
+			cells.add(start);
+			seenCells.set(start);
+			int[] cellAround = new int[Topology.MAX_NEIGHBORS];
+			for (int i = 0; i < cells.size(); i++) {
+				int cell = cells.getIndex(i);
+				int count = topology.neighbors(cell, cellAround);
+				for (int k = 0; k < count; k++) {
+					int center = cellAround[k];
+					if (seenCenters.get(center) || !solver.isConstraint(center))
+						continue;
+					seenCenters.set(center);
+					centers.add(center);
+					forEachUnknownNeighbor(center, n -> {
+						if (!seenCells.get(n)) {
+							seenCells.set(n);
+							cells.add(n);
+						}
+					});
+				}
+			}
+			components.add(new Component(cells, centers));
+		}
+		return components;
+	}
+
+	/***************************************************************************
+	 * Combines the counts of the components into probabilities. The weight
+	 * of a layout using k frontier mines is the number of ways the rest fit in
+	 * the interior cells. Distributions are combined in a binary tree: going
+	 * up, a node's distribution of mines is its children's convolved; going
+	 * down, each child gets the weight of each of its totals summed over the
+	 * other child's layouts, so every component ends up with the weight of
+	 * each of its own totals in O(T^2) work overall for T frontier cells.
+	 *
+	 * @param solved
+	 *            the enumerated components
+	 * @param interiorCells
+	 *            the number of unknown cells not in an enumerated component
+	 * @param minesLeft
+	 *            the number of mines not yet proven
+	 * @param frontier
+	 *            the frontier cells
+	 * @return the probabilities
+	 **************************************************************************/
+	private MineProbabilities combine(List<Component> solved, int interiorCells,
+			int minesLeft, BitSet frontier) {
+
+		// build the tree bottom up
+		int count = solved.size();
+		double[][] tree = new double[2 * Math.max(count, 1)][];
+		for (int i = 0; i < count; i++)
+			tree[count + i] = solved.get(i).counts.weights;
+		if (count == 0)
+			tree[1] = new double[] { 1 };
+		for (int i = count - 1; i >= 1; i--)
+			tree[i] = normalize(convolve(tree[2 * i], tree[2 * i + 1]));
+
+		// weight of each total number of frontier mines
+		double[] all = tree[1];
+		double[] weight = new double[all.length];
+		double maxLog = Double.NEGATIVE_INFINITY;
+		for (int k = 0; k < all.length; k++)
+			if (minesLeft - k >= 0 && minesLeft - k <= interiorCells)
+				maxLog = Math.max(maxLog, logChoose(interiorCells, minesLeft - k));
+		for (int k = 0; k < all.length; k++)
+			if (minesLeft - k >= 0 && minesLeft - k <= interiorCells)
+				weight[k] = Math.exp(logChoose(interiorCells, minesLeft - k) - maxLog);
+
+		// the interior cells' share of the remaining mines
+		double total = 0;
+		double interiorMines = 0;
+		for (int k = 0; k < all.length; k++) {
+			total += all[k] * weight[k];
+			interiorMines += all[k] * weight[k] * (minesLeft - k);
+		}
+		double interior = interiorCells == 0 || total == 0 ? 0
+				: interiorMines / total / interiorCells;
+
+		// pass the weights down to the components
+		double[][] down = new double[2 * Math.max(count, 1)][];
+		down[1] = weight;
+		for (int i = 1; i < count; i++) {
+			down[2 * i] = normalize(correlate(down[i], tree[2 * i + 1]));
+			down[2 * i + 1] = normalize(correlate(down[i], tree[2 * i]));
+		}
+
+		int[] cells = new int[frontier.cardinality()];
+		double[] probabilities = new double[cells.length];
+		int n = 0;
+		for (int i = 0; i < count; i++) {
+			Component c = solved.get(i);
+			double[] perCell = c.counts.probabilities(down[count + i]);
+			for (int j = 0; j < perCell.length; j++) {
+				cells[n] = c.key.cell(j);
+				probabilities[n++] = perCell[j];
+			}
+		}
+
+		// sort by cell so probabilities can be looked up by binary search
+		int[] sortedCells = Arrays.copyOf(cells, n);
+		double[] sortedProbabilities = new double[n];
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++)
+			order[i] = i;
+		Arrays.sort(order, (a, b) -> Integer.compare(cells[a], cells[b]));
+		for (int i = 0; i < n; i++) {
+			sortedCells[i] = cells[order[i]];
+			sortedProbabilities[i] = probabilities[order[i]];
+		}
+
+		return new MineProbabilities(solver, sortedCells, sortedProbabilities,
+				interior, findInteriorCell(frontier));
+	}
+
+	/***************************************************************************
+	 * Finds an unknown cell that is not on the frontier
+	 *
+	 * @param frontier
+	 *            the frontier cells
+	 * @return the index of the cell, or -1 if there is none
+	 **************************************************************************/
+	private int findInteriorCell(BitSet frontier) {
+		for (int i = 0; i < board.size(); i++)
+			if (solver.isUnknown(i) && !frontier.get(i))
+				return i;
+		return -1;
+	}
+
+	/***************************************************************************
+	 * Calls an action for each unknown neighbor of a cell
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param action
+	 *            called with the index of each unknown neighbor
+	 **************************************************************************/
+	private void forEachUnknownNeighbor(int index, java.util.function.IntConsumer action) {
+		int count = topology.neighbors(index, around);
+		for (int k = 0; k < count; k++)
+			if (solver.isUnknown(around[k]))
+				action.accept(around[k]);
+	}
+
+	/***************************************************************************
+	 * Gets log(n choose k)
+	 **************************************************************************/
+	private double logChoose(int n, int k) {
+		return logFactorial[n] - logFactorial[k] - logFactorial[n - k];
+	}
+
+	/***************************************************************************
+	 * Convolves two distributions of mine counts
+	 **************************************************************************/
+	private static double[] convolve(double[] a, double[] b) {
+		double[] result = new double[a.length + b.length - 1];
+		for (int i = 0; i < a.length; i++)
+			if (a[i] != 0)
+				for (int j = 0; j < b.length; j++)
+					result[i + j] += a[i] * b[j];
+		return result;
+	}
+
+	/***************************************************************************
+	 * Gets, for each total of one child, the parent's weights summed over the
+	 * other child's distribution: result[a] = sum over b of other[b] *
+	 * parent[a + b]
+	 **************************************************************************/
+	private static double[] correlate(double[] parent, double[] other) {
+		double[] result = new double[parent.length - other.length + 1];
+		for (int a = 0; a < result.length; a++)
+			for (int b = 0; b < other.length; b++)
+				result[a] += other[b] * parent[a + b];
+		return result;
+	}
+
+	/***************************************************************************
+	 * Scales a distribution so its largest entry is 1. Scaling never changes
+	 * a probability, as every weight built from it is scaled alike.
+	 **************************************************************************/
+	private static double[] normalize(double[] values) {
+		double max = 0;
+		for (double v : values)
+			max = Math.max(max, v);
+		if (max > 0)
+			for (int i = 0; i < values.length; i++)
+				values[i] /= max;
+		return values;
+	}
+
+	/***************************************************************************
+	 * A connected group of frontier cells and the numbers around them
+	 **************************************************************************/
+	private class Component {
+
+		/** the description the counts are cached under */
+		final ComponentKey key;
+
+		/** the cells in breadth first order, which enumerates fastest */
+		final int[] order;
+
+		/** the counts of the component's layouts */
+		ComponentCounts counts;
+
+		Component(ChangeSet cellList, ChangeSet centerList) {
+			order = new int[cellList.size()];
+			for (int i = 0; i < order.length; i++)
+				order[i] = cellList.getIndex(i);
+
+			int[] cells = order.clone();
+			Arrays.sort(cells);
+			int[] centers = new int[centerList.size()];
+			for (int i = 0; i < centers.length; i++)
+				centers[i] = centerList.getIndex(i);
+			Arrays.sort(centers);
+
+			// the key: the cells, then each number with the mines it needs
+			int[] data = new int[1 + cells.length + 2 * centers.length];
+			data[0] = cells.length;
+			System.arraycopy(cells, 0, data, 1, cells.length);
+			for (int i = 0; i < centers.length; i++) {
+				data[1 + cells.length + 2 * i] = centers[i];
+				data[2 + cells.length + 2 * i] = needed(centers[i]);
+			}
+			key = new ComponentKey(data);
+		}
+
+		/***********************************************************************
+		 * Gets the number of mines a number still needs among unknown cells
+		 **********************************************************************/
+		private int needed(int center) {
+			int needed = board.getMinecount(center);
+			int[] centerAround = new int[Topology.MAX_NEIGHBORS];
+			int count = topology.neighbors(center, centerAround);
+			for (int k = 0; k < count; k++)
+				if (solver.isKnownMine(centerAround[k]))
+					needed--;
+			return needed;
+		}
+
+		/***********************************************************************
+		 * Counts every layout of mines on the component's cells that agrees
+		 * with its numbers, by backtracking over the cells
+		 *
+		 * @return the counts, marked too large if the limits were reached
+		 **********************************************************************/
+		ComponentCounts enumerate() {
+			int n = order.length;
+			if (n > MAX_COMPONENT_CELLS)
+				return ComponentCounts.TOO_LARGE;
+
+			int centerCount = (key.data.length - 1 - n) / 2;
+			int[] need = new int[centerCount];
+			int[] open = new int[centerCount];
+			Map<Integer, Integer> centerIds = new HashMap<>();
+			for (int j = 0; j < centerCount; j++) {
+				centerIds.put(key.data[1 + n + 2 * j], j);
+				need[j] = key.data[2 + n + 2 * j];
+			}
+
+			// the numbers touching each cell, and each cell's sorted position
+			int[][] touching = new int[n][];
+			int[] position = new int[n];
+			int[] cellAround = new int[Topology.MAX_NEIGHBORS];
+			for (int i = 0; i < n; i++) {
+				position[i] = Arrays.binarySearch(key.data, 1, 1 + n, order[i]) - 1;
+				int[] ids = new int[Topology.MAX_NEIGHBORS];
+				int count = 0;
+				int neighborCount = topology.neighbors(order[i], cellAround);
+				for (int k = 0; k < neighborCount; k++) {
+					Integer id = centerIds.get(cellAround[k]);
+					if (id != null) {
+						ids[count++] = id;
+						open[id]++;
+					}
+				}
+				touching[i] = Arrays.copyOf(ids, count);
+			}
+
+			Enumeration e = new Enumeration(n, touching, need, open, position);
+			if (!e.run(0, 0))
+				return ComponentCounts.TOO_LARGE;
+			return new ComponentCounts(normalizeCounts(e.weights, e.cellCounts));
+		}
+	}
+
+	/***************************************************************************
+	 * Scales a component's counts so its largest weight is 1
+	 **************************************************************************/
+	private static double[][] normalizeCounts(double[] weights, double[][] cellCounts) {
+		double max = 0;
+		for (double w : weights)
+			max = Math.max(max, w);
+		double[][] result = new double[weights.length + 1][];
+		result[0] = weights;
+		for (int m = 0; m < weights.length; m++) {
+			if (max > 0) {
+				weights[m] /= max;
+				for (int j = 0; j < cellCounts[m].length; j++)
+					cellCounts[m][j] /= max;
+			}
+			result[m + 1] = cellCounts[m];
+		}
+		return result;
+	}
+
+	/***************************************************************************
+	 * The backtracking search over one component's layouts
+	 **************************************************************************/
+	private static class Enumeration {
+		final int n;
+		final int[][] touching;
+		final int[] need;
+		final int[] open;
+		final int[] position;
+		final boolean[] mine;
+
+		/** the number of layouts using each number of mines */
+		final double[] weights;
+
+		/** for each number of mines, how many layouts put a mine on each cell */
+		final double[][] cellCounts;
+
+		long nodes;
+
+		Enumeration(int n, int[][] touching, int[] need, int[] open, int[] position) {
+			this.n = n;
+			this.touching = touching;
+			this.need = need;
+			this.open = open;
+			this.position = position;
+			this.mine = new boolean[n];
+			this.weights = new double[n + 1];
+			this.cellCounts = new double[n + 1][n];
+		}
+
+		/***********************************************************************
+		 * Tries both choices for cell i and everything after it
+		 *
+		 * @return false if the search went over its limit
+		 **********************************************************************/
+		boolean run(int i, int mines) {
+			if (++nodes > MAX_NODES)
+				return false;
+
+			if (i == n) {
+				weights[mines]++;
+				for (int j = 0; j < n; j++)
+					if (mine[j])
+						cellCounts[mines][position[j]]++;
+				return true;
+			}
+
+			int[] ids = touching[i];
+			boolean ok = true;
+
+			// cell i safe: every number must still fit in its open cells
+			for (int id : ids)
+				if (need[id] > --open[id])
+					ok = false;
+			if (ok && !run(i + 1, mines))
+				return false;
+
+			// cell i a mine: no number may go below zero
+			ok = true;
+			for (int id : ids)
+				if (--need[id] < 0)
+					ok = false;
+			if (ok) {
+				mine[i] = true;
+				boolean finished = run(i + 1, mines + 1);
+				mine[i] = false;
+				if (!finished)
+					return false;
+			}
+
+			for (int id : ids) {
+				need[id]++;
+				open[id]++;
+			}
+			return true;
+		}
+	}
+
+	/***************************************************************************
+	 * The description of a component: its cells and what its numbers need
+	 **************************************************************************/
+	private static class ComponentKey {
+		final int[] data;
+		final int hash;
+
+		ComponentKey(int[] data) {
+			this.data = data;
+			this.hash = Arrays.hashCode(data);
+		}
+
+		int cellCount() {
+			return data[0];
+		}
+
+		int cell(int j) {
+			return data[1 + j];
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof ComponentKey && Arrays.equals(data, ((ComponentKey) o).data);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/***************************************************************************
+	 * The layout counts of a component, by number of mines used
+	 **************************************************************************/
+	private static class ComponentCounts {
+		static final ComponentCounts TOO_LARGE = new ComponentCounts(null);
+
+		final boolean tooLarge;
+
+		/** the number of layouts using each number of mines */
+		final double[] weights;
+
+		/** for each number of mines, the layouts with a mine on each cell */
+		final double[][] cellCounts;
+
+		ComponentCounts(double[][] counts) {
+			tooLarge = counts == null;
+			weights = tooLarge ? null : counts[0];
+			cellCounts = tooLarge ? null : Arrays.copyOfRange(counts, 1, counts.length);
+		}
+
+		/***********************************************************************
+		 * Gets the probability of each cell, in sorted order, given the
+		 * weight of each number of mines the component could use
+		 **********************************************************************/
+		double[] probabilities(double[] weightOfTotal) {
+			double[] result = new double[cellCounts[0].length];
+			double total = 0;
+			for (int m = 0; m < weights.length; m++) {
+				total += weights[m] * weightOfTotal[m];
+				for (int j = 0; j < result.length; j++)
+					result[j] += cellCounts[m][j] * weightOfTotal[m];
+			}
+			for (int j = 0; j < result.length; j++)
+				result[j] = total == 0 ? 0 : result[j] / total;
+			return result;
+		}
+	}
+}
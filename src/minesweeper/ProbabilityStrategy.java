@@ -0,0 +1,30 @@
+package minesweeper;
+
+/*******************************************************************************
+ * ProbabilityStrategy plays the cells a Solver proves safe and, when there
+ * are none, the cell a ProbabilityEngine finds least likely to be a mine.
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public class ProbabilityStrategy extends SolverStrategy {
+
+	/** the probability engine of the game being played */
+	private ProbabilityEngine engine;
+
+	@Override
+	public void newGame(MineSweeperGame game) {
+		super.newGame(game);
+		if (engine == null || engine.getSolver() != getSolver())
+			engine = new ProbabilityEngine(getSolver());
+	}
+
+	@Override
+	public Move nextMove(MineSweeperGame game) {
+		int safe = getSolver().nextSafeCell();
+		if (safe < 0)
+			safe = engine.compute().safestCell();
+		if (safe < 0)
+			return super.nextMove(game);
+		return Move.select(safe / game.getCols(), safe % game.getCols());
+	}
+}
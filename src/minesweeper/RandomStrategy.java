@@ -0,0 +1,65 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+
+/*******************************************************************************
+ * RandomStrategy selects a random cell that is neither exposed nor flagged on
+ * every move. It never flags, so it is a baseline for other strategies. The
+ * cells it picks are drawn from the seed of the board, so a game always plays
+ * out the same way.
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public class RandomStrategy implements MoveStrategy {
+
+	/** random picks tried before falling back to a scan of the board */
+	private static final int MAX_PROBES = 64;
+
+	/** chooses the cells to select */
+	private SplittableRandom random;
+
+	@Override
+	public void newGame(MineSweeperGame game) {
+		random = new SplittableRandom(game.getSeed());
+	}
+
+	@Override
+	public Move nextMove(MineSweeperGame game) {
+		int rows = game.getRows();
+		int cols = game.getCols();
+
+		// most of the board is still hidden early on, so guessing is quick
+		for (int i = 0; i < MAX_PROBES; i++) {
+			int r = random.nextInt(rows);
+			int c = random.nextInt(cols);
+			if (isCandidate(game, r, c))
+				return Move.select(r, c);
+		}
+
+		// otherwise take the first candidate after a random starting point
+		int size = rows * cols;
+		int start = random.nextInt(size);
+		for (int i = 0; i < size; i++) {
+			int index = (start + i) % size;
+			if (isCandidate(game, index / cols, index % cols))
+				return Move.select(index / cols, index % cols);
+		}
+		return null;
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell may be picked
+	 * 
+	 * @param game
+	 *            the game being played
+	 * @param row
+	 *            the row of the cell
+	 * @param col
+	 *            the column of the cell
+	 * @return true if the cell is neither exposed nor flagged
+	 **************************************************************************/
+	protected boolean isCandidate(MineSweeperGame game, int row, int col) {
+		Cell cell = game.getCell(row, col);
+		return !cell.isExposed() && !cell.isFlagged();
+	}
+}
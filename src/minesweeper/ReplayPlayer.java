@@ -0,0 +1,389 @@
+package minesweeper;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*******************************************************************************
+ * ReplayPlayer reads back the games in a replay file written by ReplayWriter
+ * and plays them again on a MineSweeperGame, as fast as possible or at the
+ * speed they were first played.
+ *
+ * The file is memory-mapped a window at a time and read in place, so a file
+ * of millions of games can be scanned without reading it into the heap, and
+ * games can be skipped over without being played.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class ReplayPlayer implements Closeable {
+
+	/** the most of the file mapped at once */
+	private static final long WINDOW_SIZE = 1L << 28;
+
+	/** the longest a record can be, which is always kept mapped */
+	private static final int MAX_RECORD = 64;
+
+	/** the file being read */
+	private final FileChannel channel;
+
+	/** the size of the file */
+	private final long fileSize;
+
+	/** the mapped part of the file */
+	private MappedByteBuffer window;
+
+	/** where the mapped part starts in the file */
+	private long windowStart;
+
+	/** where the next byte is read from in the file */
+	private long position;
+
+	/** true while the current game's inputs haven't all been read */
+	private boolean inGame;
+
+	// the current game
+	private int rows;
+	private int cols;
+	private int numMines;
+	private GenerationMode mode;
+	private BoardShape shape;
+	private long seed;
+	private long startTime;
+	private GameStatus recordedStatus;
+
+	// the last input read: its tag, the milliseconds before it and its cell
+	private byte inputTag;
+	private long inputMillis;
+	private int inputIndex;
+
+	/***************************************************************************
+	 * Constructor for ReplayPlayer: opens a replay file and checks its header
+	 *
+	 * @param file
+	 *            the replay file
+	 * @throws IOException
+	 *             if the file can't be read or is not a replay file
+	 **************************************************************************/
+	public ReplayPlayer(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		fileSize = channel.size();
+		map(0);
+
+		for (byte b : ReplayWriter.MAGIC)
+			if (readByte() != b)
+				throw new IOException(file + " is not a replay file");
+		if (readByte() != ReplayWriter.VERSION)
+			throw new IOException(file + " is from an unknown version");
+	}
+
+	/***************************************************************************
+	 * Moves on to the next game in the file, skipping whatever is left of the
+	 * current one
+	 *
+	 * @return true if there is another game, false at the end of the file
+	 * @throws IOException
+	 *             if the file can't be read or the game is corrupt
+	 **************************************************************************/
+	public boolean nextGame() throws IOException {
+		try {
+			while (readInput()) {
+				// skip the rest of the current game
+			}
+
+			if (position >= fileSize)
+				return false;
+			ensureMapped();
+			long start = position;
+			if (readByte() != ReplayWriter.GAME)
+				throw corrupt(start);
+
+			// check the settings before using them, so a damaged game fails
+			// here rather than part way through laying out its board
+			long rows = readVarLong();
+			long cols = readVarLong();
+			long numMines = readVarLong();
+			int modeAndShape = readByte();
+			if (rows < 1 || rows > MineSweeper.MAX_SIZE || cols < 1
+					|| cols > MineSweeper.MAX_SIZE || numMines < 0
+					|| numMines > rows * cols
+					|| (modeAndShape & 0x0F) >= GenerationMode.values().length
+					|| (modeAndShape >> 4 & 0x0F) >= BoardShape.Graph.ordinal())
+				throw corrupt(start);
+			this.rows = (int) rows;
+			this.cols = (int) cols;
+			this.numMines = (int) numMines;
+			mode = GenerationMode.values()[modeAndShape & 0x0F];
+			shape = BoardShape.values()[modeAndShape >> 4 & 0x0F];
+			seed = 0;
+			for (int i = 0; i < 8; i++)
+				seed = seed << 8 | (readByte() & 0xFF);
+			startTime = readVarLong();
+			recordedStatus = null;
+			inGame = true;
+			return true;
+
+		} catch (EOFException e) {
+
+			// a game cut off by a crash is left out
+			inGame = false;
+			return false;
+		}
+	}
+
+	/***************************************************************************
+	 * Plays the current game again, from its first input to its last
+	 *
+	 * @param realTime
+	 *            true to wait between inputs as long as the player did, false
+	 *            to play as fast as possible
+	 * @return the game, as it was when the recording ended
+	 * @throws IOException
+	 *             if the file can't be read or an input is corrupt
+	 * @throws InterruptedException
+	 *             if interrupted while waiting between inputs
+	 **************************************************************************/
+	public MineSweeperGame replay(boolean realTime) throws IOException,
+			InterruptedException {
+		// start from an empty board so the recorded one is the only one laid
+		// out, and no seed is searched for
+		MineSweeperGame game = new MineSweeperGame(new Board(Topology.of(shape,
+				rows, cols)), numMines, seed, mode, GameStatus.NotOverYet, 0, 0);
+		game.layOut(seed, mode == GenerationMode.NoGuess);
+
+		try {
+			while (readInput()) {
+				if (realTime && inputMillis > 0)
+					Thread.sleep(inputMillis);
+
+				if (inputTag == ReplayWriter.UNDO)
+					game.undo();
+				else if (inputTag == ReplayWriter.REDO)
+					game.redo();
+				else
+					game.play(new Move(MoveType.values()[inputTag - ReplayWriter.MOVE],
+							inputIndex / cols, inputIndex % cols));
+			}
+		} catch (EOFException e) {
+			inGame = false;
+		}
+		return game;
+	}
+
+	/***************************************************************************
+	 * Reads the next input of the current game
+	 *
+	 * @return true if an input was read, false if the game has ended
+	 **************************************************************************/
+	private boolean readInput() throws IOException {
+		if (!inGame)
+			return false;
+		ensureMapped();
+		long start = position;
+		inputTag = readByte();
+
+		if (inputTag == ReplayWriter.END) {
+			int statusOrdinal = readByte();
+			if (statusOrdinal < 0 || statusOrdinal >= GameStatus.values().length)
+				throw corrupt(start);
+			recordedStatus = GameStatus.values()[statusOrdinal];
+			inGame = false;
+			return false;
+		}
+		if (inputTag == ReplayWriter.GAME) {
+
+			// a game with no end record; leave the next game to nextGame
+			position--;
+			inGame = false;
+			return false;
+		}
+
+		boolean move = inputTag >= ReplayWriter.MOVE
+				&& inputTag < ReplayWriter.MOVE + MoveType.values().length;
+		if (!move && inputTag != ReplayWriter.UNDO && inputTag != ReplayWriter.REDO)
+			throw corrupt(start);
+		inputMillis = readVarLong();
+		if (move) {
+			long index = readVarLong();
+			if (index < 0 || index >= (long) rows * cols)
+				throw corrupt(start);
+			inputIndex = (int) index;
+		}
+		return true;
+	}
+
+	/***************************************************************************
+	 * Makes the error for a record that can't have been written by
+	 * ReplayWriter
+	 *
+	 * @param start
+	 *            where the record starts in the file
+	 * @return the error
+	 **************************************************************************/
+	private static IOException corrupt(long start) {
+		return new IOException("corrupt replay at byte " + start);
+	}
+
+	/***************************************************************************
+	 * Gets the number of rows of the current game's board
+	 *
+	 * @return the number of rows
+	 **************************************************************************/
+	public int getRows() {
+		return rows;
+	}
+
+	/***************************************************************************
+	 * Gets the number of columns of the current game's board
+	 *
+	 * @return the number of columns
+	 **************************************************************************/
+	public int getCols() {
+		return cols;
+	}
+
+	/***************************************************************************
+	 * Gets the number of mines on the current game's board
+	 *
+	 * @return the number of mines
+	 **************************************************************************/
+	public int getNumMines() {
+		return numMines;
+	}
+
+	/***************************************************************************
+	 * Gets how the current game's board was laid out
+	 *
+	 * @return the generation mode
+	 **************************************************************************/
+	public GenerationMode getGenerationMode() {
+		return mode;
+	}
+
+	/***************************************************************************
+	 * Gets the shape of the current game's board
+	 *
+	 * @return the shape
+	 **************************************************************************/
+	public BoardShape getShape() {
+		return shape;
+	}
+
+	/***************************************************************************
+	 * Gets the seed the current game's board was laid out from
+	 *
+	 * @return the seed
+	 **************************************************************************/
+	public long getSeed() {
+		return seed;
+	}
+
+	/***************************************************************************
+	 * Gets when the current game started
+	 *
+	 * @return the time, in milliseconds since the epoch
+	 **************************************************************************/
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/***************************************************************************
+	 * Gets how the current game ended, as recorded. Known once the game has
+	 * been played or skipped to its end.
+	 *
+	 * @return the status, NotOverYet for an abandoned game, or null if not
+	 *         known
+	 **************************************************************************/
+	public GameStatus getRecordedStatus() {
+		return recordedStatus;
+	}
+
+	/***************************************************************************
+	 * Closes the file
+	 **************************************************************************/
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/***************************************************************************
+	 * Maps the part of the file starting at the given position
+	 *
+	 * @param start
+	 *            the position in the file
+	 **************************************************************************/
+	private void map(long start) throws IOException {
+		windowStart = start;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, start,
+				Math.min(WINDOW_SIZE, fileSize - start));
+	}
+
+	/***************************************************************************
+	 * Moves the window on if the next record might run past its end
+	 **************************************************************************/
+	private void ensureMapped() throws IOException {
+		long windowEnd = windowStart + window.limit();
+		if (position + MAX_RECORD > windowEnd && windowEnd < fileSize)
+			map(position);
+	}
+
+	/***************************************************************************
+	 * Reads the next byte of the file
+	 *
+	 * @return the byte
+	 * @throws EOFException
+	 *             at the end of the file
+	 **************************************************************************/
+	private byte readByte() throws EOFException {
+		if (position >= windowStart + window.limit())
+			throw new EOFException();
+		return window.get((int) (position++ - windowStart));
+	}
+
+	/***************************************************************************
+	 * Reads a number written seven bits to a byte
+	 *
+	 * @return the number
+	 * @throws IOException
+	 *             if the number is too long for a long, or the file ends
+	 **************************************************************************/
+	private long readVarLong() throws IOException {
+		long start = position;
+		long value = 0;
+		for (int shift = 0;; shift += 7) {
+			if (shift > 63)
+				throw corrupt(start);
+			byte b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return value;
+		}
+	}
+
+	/***************************************************************************
+	 * Plays every game in a replay file again and checks each ends the way it
+	 * was recorded. Arguments: the replay file, replays.bin by default.
+	 **************************************************************************/
+	public static void main(String[] args) throws Exception {
+		Path file = Paths.get(args.length > 0 ? args[0] : "replays.bin");
+		int games = 0, mismatches = 0;
+		long start = System.nanoTime();
+
+		try (ReplayPlayer player = new ReplayPlayer(file)) {
+			while (player.nextGame()) {
+				MineSweeperGame game = player.replay(false);
+				GameStatus recorded = player.getRecordedStatus();
+				if (recorded != null && recorded != game.getGameStatus())
+					mismatches++;
+				games++;
+			}
+		}
+
+		System.out.printf("%d games replayed in %.1f ms, %d ended differently%n",
+				games, (System.nanoTime() - start) / 1e6, mismatches);
+	}
+}
@@ -0,0 +1,160 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/*******************************************************************************
+ * ReplayRecorder records the inputs of the games played on one
+ * MineSweeperGame: the board each game is laid out from and every move, undo
+ * and redo with the time it was made. A game's record is built up in memory
+ * and handed to the ReplayWriter once the next game starts, so the record is
+ * complete and written in one piece.
+ *
+ * The game calls the recorder itself; see MineSweeperGame.setRecorder.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class ReplayRecorder {
+
+	/** the writer the finished records go to */
+	private final ReplayWriter writer;
+
+	/** the record of the game being played */
+	private byte[] record = new byte[64];
+
+	/** the number of bytes recorded */
+	private int size;
+
+	/** the game being recorded, or null between games */
+	private MineSweeperGame game;
+
+	/** when the game started, by System.nanoTime */
+	private long startNanos;
+
+	/** the time of the last input, in milliseconds since the game started */
+	private long lastMillis;
+
+	/***************************************************************************
+	 * Constructor for ReplayRecorder; see ReplayWriter.newRecorder
+	 *
+	 * @param writer
+	 *            the writer the finished records go to
+	 **************************************************************************/
+	ReplayRecorder(ReplayWriter writer) {
+		this.writer = writer;
+	}
+
+	/***************************************************************************
+	 * Starts recording a new game
+	 *
+	 * @param game
+	 *            the game, laid out and ready to play
+	 **************************************************************************/
+	synchronized void startGame(MineSweeperGame game) {
+		this.game = game;
+		writer.started(this);
+		startNanos = System.nanoTime();
+		lastMillis = 0;
+
+		put(ReplayWriter.GAME);
+		putVarLong(game.getRows());
+		putVarLong(game.getCols());
+		putVarLong(game.getNumMines());
+		put((byte) (game.getGenerationMode().ordinal()
+				| game.getTopology().getShape().ordinal() << 4));
+		long seed = game.getSeed();
+		for (int shift = 56; shift >= 0; shift -= 8)
+			put((byte) (seed >>> shift));
+		putVarLong(System.currentTimeMillis());
+	}
+
+	/***************************************************************************
+	 * Records a move
+	 *
+	 * @param type
+	 *            the type of the move
+	 * @param index
+	 *            the index of the Cell the move was made on
+	 **************************************************************************/
+	synchronized void move(MoveType type, int index) {
+		if (game == null)
+			return;
+		put((byte) (ReplayWriter.MOVE + type.ordinal()));
+		putTime();
+		putVarLong(index);
+	}
+
+	/***************************************************************************
+	 * Records an undo or a redo
+	 *
+	 * @param redo
+	 *            true for a redo, false for an undo
+	 **************************************************************************/
+	synchronized void undo(boolean redo) {
+		if (game == null)
+			return;
+		put(redo ? ReplayWriter.REDO : ReplayWriter.UNDO);
+		putTime();
+	}
+
+	/***************************************************************************
+	 * Finishes the game being recorded, if any, and hands it to the writer
+	 *
+	 * @param status
+	 *            how the game ended; NotOverYet if it was abandoned
+	 **************************************************************************/
+	synchronized void endGame(GameStatus status) {
+		if (game == null)
+			return;
+		put(ReplayWriter.END);
+		put((byte) status.ordinal());
+
+		writer.append(this, Arrays.copyOf(record, size));
+		size = 0;
+		game = null;
+	}
+
+	/***************************************************************************
+	 * Hands the game being recorded to the writer as it stands, as when the
+	 * program exits
+	 **************************************************************************/
+	synchronized void flush() {
+		if (game != null)
+			endGame(game.getGameStatus());
+	}
+
+	/***************************************************************************
+	 * Records the milliseconds since the last input
+	 **************************************************************************/
+	private void putTime() {
+		long millis = (System.nanoTime() - startNanos) / 1_000_000;
+		putVarLong(millis - lastMillis);
+		lastMillis = millis;
+	}
+
+	/***************************************************************************
+	 * Records a number that isn't negative, seven bits to a byte, lowest
+	 * bits first; the top bit of each byte says whether more follow
+	 *
+	 * @param value
+	 *            the number
+	 **************************************************************************/
+	private void putVarLong(long value) {
+		while ((value & ~0x7FL) != 0) {
+			put((byte) (value & 0x7F | 0x80));
+			value >>>= 7;
+		}
+		put((byte) value);
+	}
+
+	/***************************************************************************
+	 * Records one byte, making room for it as needed
+	 *
+	 * @param b
+	 *            the byte
+	 **************************************************************************/
+	private void put(byte b) {
+		if (size == record.length)
+			record = Arrays.copyOf(record, size * 2);
+		record[size++] = b;
+	}
+}
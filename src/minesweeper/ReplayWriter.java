@@ -0,0 +1,187 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************************
+ * ReplayWriter appends recorded games to a replay file. Each game is recorded
+ * by its own ReplayRecorder and handed over as one finished record, which a
+ * background thread appends to the file, so recording never waits on the
+ * disk and the games of several windows never interleave.
+ *
+ * A replay file starts with a header, then holds one record after another:
+ *
+ * 		G rows cols mines mode seed start	a game starts
+ * 		M+type time cell					a move, by type
+ * 		U time / R time						an undo / a redo
+ * 		E status							the game is over or abandoned
+ *
+ * Numbers are written as variable-length integers, seven bits to a byte, and
+ * each time is the milliseconds since the previous input, so a move takes
+ * only a few bytes. The mode byte holds the generation mode in its low four
+ * bits and the board shape in its high four; games on a graph aren't
+ * recorded, since their neighbors can't be laid out again from the record.
+ * ReplayPlayer reads the files back.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class ReplayWriter {
+
+	/** the bytes every replay file starts with */
+	static final byte[] MAGIC = { 'M', 'S', 'R', 'P' };
+
+	/** the version of the file layout */
+	static final byte VERSION = 1;
+
+	/** the record tags */
+	static final byte GAME = 'G';
+	static final byte MOVE = 'M';
+	static final byte UNDO = 'U';
+	static final byte REDO = 'R';
+	static final byte END = 'E';
+
+	/** the writer of each open file, shared by every game recording to it */
+	private static final Map<Path, ReplayWriter> WRITERS = new ConcurrentHashMap<>();
+
+	/** the file being appended to */
+	private final FileChannel channel;
+
+	/** the background thread doing the writes */
+	private final ExecutorService worker;
+
+	/** the recorders with a game under way, written out on close; each is
+	 * dropped once its game has been handed over */
+	private final Set<ReplayRecorder> recorders = Collections
+			.newSetFromMap(new ConcurrentHashMap<>());
+
+	/** true once a write has failed, so the failure is reported once */
+	private volatile boolean failed;
+
+	/***************************************************************************
+	 * Gets the writer of a replay file, opening the file if it isn't open
+	 * yet. The file is closed when the program exits.
+	 *
+	 * @param file
+	 *            the replay file
+	 * @return the writer
+	 * @throws IOException
+	 *             if the file can't be opened
+	 **************************************************************************/
+	public static ReplayWriter open(Path file) throws IOException {
+		Path key = file.toAbsolutePath().normalize();
+		try {
+			return WRITERS.computeIfAbsent(key, k -> {
+				try {
+					return new ReplayWriter(k);
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		} catch (IllegalStateException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw e;
+		}
+	}
+
+	/***************************************************************************
+	 * Constructor for ReplayWriter: opens the file for appending and writes
+	 * the header if the file is new
+	 **************************************************************************/
+	private ReplayWriter(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		if (channel.size() == 0) {
+			ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 1);
+			header.put(MAGIC).put(VERSION).flip();
+			while (header.hasRemaining())
+				channel.write(header);
+		}
+
+		worker = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "replay-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+	}
+
+	/***************************************************************************
+	 * Creates a recorder for one game, to be given to
+	 * MineSweeperGame.setRecorder
+	 *
+	 * @return the recorder
+	 **************************************************************************/
+	public ReplayRecorder newRecorder() {
+		return new ReplayRecorder(this);
+	}
+
+	/***************************************************************************
+	 * Keeps track of a recorder that has started a game, so the game is
+	 * written out if the file is closed before it ends
+	 *
+	 * @param recorder
+	 *            the recorder
+	 **************************************************************************/
+	void started(ReplayRecorder recorder) {
+		recorders.add(recorder);
+	}
+
+	/***************************************************************************
+	 * Appends a finished record to the file, in the background, and stops
+	 * keeping track of the recorder it came from
+	 *
+	 * @param recorder
+	 *            the recorder
+	 * @param record
+	 *            the bytes of the record
+	 **************************************************************************/
+	void append(ReplayRecorder recorder, byte[] record) {
+		recorders.remove(recorder);
+		if (worker.isShutdown())
+			return;
+		worker.execute(() -> {
+			try {
+				ByteBuffer buffer = ByteBuffer.wrap(record);
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+			} catch (IOException e) {
+				if (!failed) {
+					failed = true;
+					System.err.println("Replays could not be saved: " + e);
+				}
+			}
+		});
+	}
+
+	/***************************************************************************
+	 * Writes out the games still being recorded, waits for every write to
+	 * finish and closes the file
+	 **************************************************************************/
+	public void close() {
+		if (!channel.isOpen())
+			return;
+		for (ReplayRecorder recorder : recorders)
+			recorder.flush();
+
+		worker.shutdown();
+		try {
+			worker.awaitTermination(10, TimeUnit.SECONDS);
+			channel.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			System.err.println("Replays could not be saved: " + e);
+		}
+	}
+}
@@ -0,0 +1,220 @@
+package minesweeper;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/*******************************************************************************
+ * SimulationRunner plays large numbers of games without a GUI, with moves
+ * chosen by a MoveStrategy, and adds up the results. Games are played in
+ * batches spread over a ForkJoinPool; each batch reuses one MineSweeperGame
+ * and one strategy, and only its totals are kept, so memory doesn't grow with
+ * the number of games.
+ * 
+ * Game i of a run is laid out from a seed worked out from the run's seed and
+ * i, so a run gives the same results however the batches are scheduled.
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public class SimulationRunner {
+
+	/** the number of games played by one task before its results are passed on */
+	private static final int BATCH_SIZE = 1000;
+
+	private final Topology topology;
+	private final int numMines;
+	private final Supplier<MoveStrategy> strategies;
+
+	/** the most moves a game may take before it is given up */
+	private int maxMoves;
+
+	/** the number of threads games are played on */
+	private int parallelism;
+
+	/***************************************************************************
+	 * Constructor for SimulationRunner.
+	 * 
+	 * @param rows
+	 *            the number of rows of every board
+	 * @param cols
+	 *            the number of columns of every board
+	 * @param numMines
+	 *            the number of mines on every board
+	 * @param strategies
+	 *            creates the strategy for each batch of games
+	 **************************************************************************/
+	public SimulationRunner(int rows, int cols, int numMines,
+			Supplier<MoveStrategy> strategies) {
+		this(Topology.square(rows, cols), numMines, strategies);
+	}
+
+	/***************************************************************************
+	 * Constructor for SimulationRunner: plays every game on a board of the
+	 * given shape and size
+	 * 
+	 * @param topology
+	 *            the size of every board and which of its cells are neighbors
+	 * @param numMines
+	 *            the number of mines on every board
+	 * @param strategies
+	 *            creates the strategy for each batch of games
+	 **************************************************************************/
+	public SimulationRunner(Topology topology, int numMines,
+			Supplier<MoveStrategy> strategies) {
+		this.topology = topology;
+		this.numMines = numMines;
+		this.strategies = strategies;
+		this.maxMoves = topology.size() * 2;
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	}
+
+	/***************************************************************************
+	 * Setter method for maxMoves
+	 **************************************************************************/
+	public void setMaxMoves(int maxMoves) {
+		this.maxMoves = maxMoves;
+	}
+
+	/***************************************************************************
+	 * Setter method for parallelism
+	 **************************************************************************/
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/***************************************************************************
+	 * Plays the given number of games and adds up their results
+	 * 
+	 * @param games
+	 *            the number of games to play
+	 * @param seed
+	 *            the seed of the run
+	 * @return the combined results of all games
+	 **************************************************************************/
+	public SimulationStats run(long games, long seed) {
+		return run(games, seed, batch -> {
+		});
+	}
+
+	/***************************************************************************
+	 * Plays the given number of games and adds up their results, passing the
+	 * results of each batch to a listener as soon as the batch is done. The
+	 * listener is called from the worker threads and must be thread safe.
+	 * 
+	 * @param games
+	 *            the number of games to play
+	 * @param seed
+	 *            the seed of the run
+	 * @param onBatch
+	 *            receives the results of each finished batch
+	 * @return the combined results of all games
+	 **************************************************************************/
+	public SimulationStats run(long games, long seed,
+			Consumer<SimulationStats> onBatch) {
+		long batches = (games + BATCH_SIZE - 1) / BATCH_SIZE;
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.submit(() -> LongStream.range(0, batches).parallel()
+					.mapToObj(b -> {
+						long first = b * BATCH_SIZE;
+						SimulationStats stats = playBatch(first,
+								Math.min(first + BATCH_SIZE, games), seed);
+						onBatch.accept(stats);
+						return stats;
+					}).collect(SimulationStats::new, SimulationStats::combine,
+							SimulationStats::combine))
+					.join();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/***************************************************************************
+	 * Plays games first through end - 1 of a run
+	 * 
+	 * @param first
+	 *            the number of the first game
+	 * @param end
+	 *            one past the number of the last game
+	 * @param seed
+	 *            the seed of the run
+	 * @return the results of the games
+	 **************************************************************************/
+	private SimulationStats playBatch(long first, long end, long seed) {
+		SimulationStats stats = new SimulationStats();
+		MineSweeperGame game = new MineSweeperGame(topology, numMines, seed,
+				GenerationMode.Random);
+		MoveStrategy strategy = strategies.get();
+
+		for (long i = first; i < end; i++) {
+			game.reset(gameSeed(seed, i));
+			strategy.newGame(game);
+
+			for (int moves = 0; game.getGameStatus() == GameStatus.NotOverYet
+					&& moves < maxMoves; moves++) {
+				Move move = strategy.nextMove(game);
+				if (move == null)
+					break;
+				ChangeSet changed = game.play(move);
+				strategy.moveMade(move, changed);
+				stats.recordMove(changed.size());
+			}
+			stats.recordGame(game.getGameStatus());
+		}
+		return stats;
+	}
+
+	/***************************************************************************
+	 * Works out the seed of one game of a run by mixing the bits of the run's
+	 * seed and the game's number (the SplitMix64 finalizer)
+	 * 
+	 * @param seed
+	 *            the seed of the run
+	 * @param game
+	 *            the number of the game
+	 * @return the seed the game's board is laid out from
+	 **************************************************************************/
+	static long gameSeed(long seed, long game) {
+		long z = seed + game * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/***************************************************************************
+	 * Runs a simulation from the command line. Arguments: rows cols mines
+	 * games [seed] [random|solver|probability] [square|torus|hex], playing
+	 * the random strategy on a square board by default
+	 **************************************************************************/
+	public static void main(String[] args) {
+		if (args.length < 4) {
+			System.err.println("usage: SimulationRunner rows cols mines games [seed] [random|solver|probability] [square|torus|hex]");
+			System.exit(1);
+		}
+		int rows = Integer.parseInt(args[0]);
+		int cols = Integer.parseInt(args[1]);
+		int numMines = Integer.parseInt(args[2]);
+		long games = Long.parseLong(args[3]);
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+		String strategy = args.length > 5 ? args[5] : "random";
+		Supplier<MoveStrategy> strategies = RandomStrategy::new;
+		if (strategy.equals("solver"))
+			strategies = SolverStrategy::new;
+		else if (strategy.equals("probability"))
+			strategies = ProbabilityStrategy::new;
+
+		BoardShape shape = BoardShape.Square;
+		if (args.length > 6)
+			shape = args[6].equals("torus") ? BoardShape.Torus
+					: args[6].equals("hex") ? BoardShape.Hex : BoardShape.Square;
+
+		SimulationRunner runner = new SimulationRunner(Topology.of(shape, rows,
+				cols), numMines, strategies);
+		long start = System.nanoTime();
+		SimulationStats stats = runner.run(games, seed);
+		System.out.println(stats);
+		System.out.printf("%.1f s%n", (System.nanoTime() - start) / 1e9);
+	}
+}
@@ -0,0 +1,139 @@
+package minesweeper;
+
+/*******************************************************************************
+ * SimulationStats adds up the results of simulated games: how many were won,
+ * lost or given up, how many moves they took and how large their cascades
+ * were. Only the totals are kept, never the games themselves, and the totals
+ * of separate runs can be combined.
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public class SimulationStats {
+	private long games;
+	private long wins;
+	private long losses;
+	private long moves;
+	private long cascades;
+	private long cascadeCells;
+	private int largestCascade;
+
+	/***************************************************************************
+	 * Records the end of a game
+	 * 
+	 * @param status
+	 *            the status the game ended with; NotOverYet for a game that
+	 *            was given up
+	 **************************************************************************/
+	public void recordGame(GameStatus status) {
+		games++;
+		if (status == GameStatus.Won)
+			wins++;
+		else if (status == GameStatus.Lost)
+			losses++;
+	}
+
+	/***************************************************************************
+	 * Records one move
+	 * 
+	 * @param exposed
+	 *            the number of cells the move exposed
+	 **************************************************************************/
+	public void recordMove(int exposed) {
+		moves++;
+
+		// only a move that spread past its own cell counts as a cascade
+		if (exposed > 1) {
+			cascades++;
+			cascadeCells += exposed;
+			largestCascade = Math.max(largestCascade, exposed);
+		}
+	}
+
+	/***************************************************************************
+	 * Adds the totals of another set of results to these
+	 * 
+	 * @param other
+	 *            the results to add
+	 * @return these results, for chaining
+	 **************************************************************************/
+	public SimulationStats combine(SimulationStats other) {
+		games += other.games;
+		wins += other.wins;
+		losses += other.losses;
+		moves += other.moves;
+		cascades += other.cascades;
+		cascadeCells += other.cascadeCells;
+		largestCascade = Math.max(largestCascade, other.largestCascade);
+		return this;
+	}
+
+	/***************************************************************************
+	 * Getter method for games
+	 **************************************************************************/
+	public long getGames() {
+		return games;
+	}
+
+	/***************************************************************************
+	 * Getter method for wins
+	 **************************************************************************/
+	public long getWins() {
+		return wins;
+	}
+
+	/***************************************************************************
+	 * Getter method for losses
+	 **************************************************************************/
+	public long getLosses() {
+		return losses;
+	}
+
+	/***************************************************************************
+	 * Getter method for moves
+	 **************************************************************************/
+	public long getMoves() {
+		return moves;
+	}
+
+	/***************************************************************************
+	 * Getter method for largestCascade
+	 **************************************************************************/
+	public int getLargestCascade() {
+		return largestCascade;
+	}
+
+	/***************************************************************************
+	 * Gets the fraction of games won
+	 * 
+	 * @return the win rate, from 0 to 1
+	 **************************************************************************/
+	public double getWinRate() {
+		return games == 0 ? 0 : (double) wins / games;
+	}
+
+	/***************************************************************************
+	 * Gets the average number of moves made in a game
+	 * 
+	 * @return the moves per game
+	 **************************************************************************/
+	public double getAverageMoves() {
+		return games == 0 ? 0 : (double) moves / games;
+	}
+
+	/***************************************************************************
+	 * Gets the average number of cells exposed by a cascade
+	 * 
+	 * @return the cells per cascade
+	 **************************************************************************/
+	public double getAverageCascadeSize() {
+		return cascades == 0 ? 0 : (double) cascadeCells / cascades;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"games %d, won %d (%.2f%%), lost %d, moves/game %.2f, cascades %d, avg cascade %.2f, largest cascade %d",
+				games, wins, 100 * getWinRate(), losses, getAverageMoves(),
+				cascades, getAverageCascadeSize(), largestCascade);
+	}
+}
@@ -0,0 +1,450 @@
+package minesweeper;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/*******************************************************************************
+ * Solver works out which hidden cells are certainly safe and which are
+ * certainly mines, using only what the player can see: the numbers on exposed
+ * cells. Every exposed numbered cell is a constraint saying how many of its
+ * unknown neighbors are mines. Two rules are applied:
+ *
+ * 		single point: if a constraint needs no more mines its unknown cells
+ * 		are safe, and if it needs as many mines as it has unknown cells they
+ * 		are all mines.
+ *
+ * 		pairs: for two constraints sharing an unknown cell, the cells only one
+ * 		of them covers are safe or mines when the difference between the mines
+ * 		they need leaves no other choice. This includes the case where one
+ * 		constraint's cells are a subset of the other's.
+ *
+ * The unknown cells of a constraint are kept as a bit mask over the
+ * neighbors of its cell, in the order the board's Topology lists them, so
+ * comparing two constraints is a few bit operations on any shape of board.
+ * The solver is incremental: update is given the cells exposed by
+ * a move and only re-examines the constraints those cells touch, passing on
+ * to neighboring constraints whenever it proves something new.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class Solver {
+
+	/** the bits of a constraint holding the mask of unknown neighbors */
+	private static final int MASK = (1 << Topology.MAX_NEIGHBORS) - 1;
+
+	/** how far the mines a constraint needs are shifted left */
+	private static final int NEED_SHIFT = 16;
+
+	/** the game being solved */
+	private final MineSweeperGame game;
+
+	/** the board being solved, which changes when the game swaps one in */
+	private Board board;
+
+	private final int cols;
+
+	/** which cells of the board are neighbors */
+	private Topology topology;
+
+	// the neighbors of the cells being looked at, a list for each loop that
+	// can run inside another
+	private final int[] aroundX = new int[Topology.MAX_NEIGHBORS];
+	private final int[] aroundShared = new int[Topology.MAX_NEIGHBORS];
+	private final int[] aroundY = new int[Topology.MAX_NEIGHBORS];
+	private final int[] aroundConstraint = new int[Topology.MAX_NEIGHBORS];
+	private final int[] aroundMarked = new int[Topology.MAX_NEIGHBORS];
+	private final int[] aroundQueued = new int[Topology.MAX_NEIGHBORS];
+
+	/** hidden cells proven not to be mines */
+	private final BitSet safe;
+
+	/** cells proven to be mines */
+	private final BitSet mines;
+
+	/** constraints waiting to be re-examined */
+	private final ChangeSet work;
+
+	/** the constraints currently in the work list */
+	private final BitSet queued;
+
+	/** the position of the next constraint to take from the work list */
+	private int workHead;
+
+	/** the cells deduced by the current update */
+	private Deductions found;
+
+	/** the constraints already paired with the one being solved, marked
+	 * with the current stamp */
+	private final int[] paired;
+
+	/** changed for every constraint solved, so paired needn't be cleared */
+	private int stamp;
+
+	/** the unknown cells of a paired constraint that the other can't see */
+	private final int[] yOnly = new int[Topology.MAX_NEIGHBORS];
+
+	/***************************************************************************
+	 * Constructor for Solver: deduces what it can from the cells already
+	 * exposed on the game's board
+	 *
+	 * @param game
+	 *            the game to solve
+	 **************************************************************************/
+	public Solver(MineSweeperGame game) {
+		this.game = game;
+		this.board = game.getBoard();
+		this.cols = board.getCols();
+		this.safe = new BitSet(board.size());
+		this.mines = new BitSet(board.size());
+		this.work = new ChangeSet(cols);
+		this.queued = new BitSet(board.size());
+		this.paired = new int[board.size()];
+		reset();
+	}
+
+	/***************************************************************************
+	 * Gets the game being solved
+	 *
+	 * @return the game
+	 **************************************************************************/
+	public MineSweeperGame getGame() {
+		return game;
+	}
+
+	/***************************************************************************
+	 * Forgets everything deduced and starts again from the exposed cells, as
+	 * needed after the game is reset
+	 *
+	 * @return the cells deduced from the cells already exposed
+	 **************************************************************************/
+	public Deductions reset() {
+		board = game.getBoard();
+		topology = board.getTopology();
+		safe.clear();
+		mines.clear();
+		queued.clear();
+		work.clear();
+		workHead = 0;
+
+		ChangeSet exposed = new ChangeSet(cols);
+		for (int i = 0; i < board.size(); i++)
+			if (board.isExposed(i))
+				exposed.add(i);
+		return update(exposed);
+	}
+
+	/***************************************************************************
+	 * Deduces what follows from newly exposed cells. Cells in the set that
+	 * aren't exposed, such as flagged cells, are ignored: the solver doesn't
+	 * trust the player's flags.
+	 *
+	 * @param changed
+	 *            the cells changed by a move
+	 * @return the cells newly proven safe or mines
+	 **************************************************************************/
+	public Deductions update(ChangeSet changed) {
+		found = new Deductions(cols);
+
+		for (int i = 0; i < changed.size(); i++) {
+			int index = changed.getIndex(i);
+			if (!board.isExposed(index))
+				continue;
+
+			// an exposed mine is no secret
+			if (board.isMine(index))
+				mines.set(index);
+			else
+				enqueue(index);
+			enqueueNeighbors(index);
+		}
+
+		while (workHead < work.size()) {
+			int center = work.getIndex(workHead++);
+			queued.clear(center);
+			solve(center);
+		}
+		work.clear();
+		workHead = 0;
+
+		return found;
+	}
+
+	/***************************************************************************
+	 * Gets a hidden cell proven safe
+	 *
+	 * @return the index of a safe cell that is not exposed, or -1 if there is
+	 *         none
+	 **************************************************************************/
+	public int nextSafeCell() {
+		for (int i = safe.nextSetBit(0); i >= 0; i = safe.nextSetBit(i + 1)) {
+			if (!board.isExposed(i))
+				return i;
+
+			// exposed since, so no longer worth reporting
+			safe.clear(i);
+		}
+		return -1;
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell has been proven safe
+	 *
+	 * @param row
+	 *            the row of the cell
+	 * @param col
+	 *            the column of the cell
+	 * @return true if the cell is known not to be a mine
+	 **************************************************************************/
+	public boolean isKnownSafe(int row, int col) {
+		int index = board.index(row, col);
+		return safe.get(index) || (board.isExposed(index) && !board.isMine(index));
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell has been proven to be a mine
+	 *
+	 * @param row
+	 *            the row of the cell
+	 * @param col
+	 *            the column of the cell
+	 * @return true if the cell is known to be a mine
+	 **************************************************************************/
+	public boolean isKnownMine(int row, int col) {
+		return isKnownMine(board.index(row, col));
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell has been proven to be a mine
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @return true if the cell is known to be a mine
+	 **************************************************************************/
+	boolean isKnownMine(int index) {
+		return mines.get(index);
+	}
+
+	/***************************************************************************
+	 * Gets the number of cells proven to be mines
+	 *
+	 * @return the number of known mines
+	 **************************************************************************/
+	public int getKnownMineCount() {
+		return mines.cardinality();
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell has not been exposed, proven safe or proven a mine
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @return true if nothing is known about the cell
+	 **************************************************************************/
+	boolean isUnknown(int index) {
+		return !board.isExposed(index) && !safe.get(index) && !mines.get(index);
+	}
+
+	/***************************************************************************
+	 * Applies the single point and pair rules to one constraint
+	 *
+	 * @param x
+	 *            the index of the exposed cell whose constraint is examined
+	 **************************************************************************/
+	private void solve(int x) {
+		int constraintX = constraint(x);
+		int maskX = constraintX & MASK;
+		int needX = constraintX >> NEED_SHIFT;
+		if (maskX == 0)
+			return;
+
+		// single point rule
+		if (needX == 0) {
+			markAll(x, maskX, false);
+			return;
+		}
+		if (needX == Integer.bitCount(maskX)) {
+			markAll(x, maskX, true);
+			return;
+		}
+
+		// pair rule, against every constraint sharing an unknown cell with x,
+		// each found through one of those cells and paired once
+		if (++stamp == 0) {
+			Arrays.fill(paired, 0);
+			stamp = 1;
+		}
+		paired[x] = stamp;
+		int countX = topology.neighbors(x, aroundX);
+		for (int kx = 0; kx < countX; kx++) {
+			if ((maskX & 1 << kx) == 0)
+				continue;
+			int countShared = topology.neighbors(aroundX[kx], aroundShared);
+
+			for (int ks = 0; ks < countShared; ks++) {
+				int y = aroundShared[ks];
+				if (paired[y] == stamp)
+					continue;
+				paired[y] = stamp;
+				if (!isConstraint(y))
+					continue;
+
+				int constraintY = constraint(y);
+				int maskY = constraintY & MASK;
+				int needY = constraintY >> NEED_SHIFT;
+
+				// put y's unknown cells in x's mask, or aside if x can't see them
+				int common = 0;
+				int yOnlyCount = 0;
+				int countY = topology.neighbors(y, aroundY);
+				for (int ky = 0; ky < countY; ky++) {
+					if ((maskY & 1 << ky) == 0)
+						continue;
+					int position = positionOf(aroundY[ky], countX);
+					if (position >= 0)
+						common |= 1 << position;
+					else
+						yOnly[yOnlyCount++] = aroundY[ky];
+				}
+				int xOnly = maskX & ~common;
+				int xOnlyCount = Integer.bitCount(xOnly);
+				if (xOnlyCount + yOnlyCount == 0)
+					continue;
+
+				// x needs more than y by exactly the cells only x covers
+				if (needX - needY == xOnlyCount) {
+					markAll(x, xOnly, true);
+					for (int i = 0; i < yOnlyCount; i++)
+						mark(yOnly[i], false);
+					return;
+				}
+
+				// y needs more than x by exactly the cells only y covers
+				if (needY - needX == yOnlyCount) {
+					markAll(x, xOnly, false);
+					for (int i = 0; i < yOnlyCount; i++)
+						mark(yOnly[i], true);
+					return;
+				}
+			}
+		}
+	}
+
+	/***************************************************************************
+	 * Finds where a cell comes among the neighbors of the constraint being
+	 * solved
+	 *
+	 * @param cell
+	 *            the index of the cell to find
+	 * @param countX
+	 *            the number of neighbors in aroundX
+	 * @return the position of the cell among the neighbors, or -1 if it is
+	 *         not one
+	 **************************************************************************/
+	private int positionOf(int cell, int countX) {
+		for (int k = 0; k < countX; k++)
+			if (aroundX[k] == cell)
+				return k;
+		return -1;
+	}
+
+	/***************************************************************************
+	 * Works out a constraint: which neighbors of an exposed cell are unknown
+	 * and how many mines are among them
+	 *
+	 * @param center
+	 *            the index of the exposed cell
+	 * @return the mines needed shifted left by NEED_SHIFT, or'd with the mask
+	 *         of unknown neighbors
+	 **************************************************************************/
+	private int constraint(int center) {
+		int count = topology.neighbors(center, aroundConstraint);
+		int needed = board.getMinecount(center);
+		int mask = 0;
+
+		for (int k = 0; k < count; k++) {
+			int n = aroundConstraint[k];
+			if (mines.get(n))
+				needed--;
+			else if (!board.isExposed(n) && !safe.get(n))
+				mask |= 1 << k;
+		}
+		return (needed << NEED_SHIFT) | mask;
+	}
+
+	/***************************************************************************
+	 * Marks each neighbor of a cell selected by a mask
+	 *
+	 * @param center
+	 *            the index of the cell
+	 * @param mask
+	 *            the neighbors to mark
+	 * @param mine
+	 *            true to mark them as mines, false to mark them safe
+	 **************************************************************************/
+	private void markAll(int center, int mask, boolean mine) {
+		int count = topology.neighbors(center, aroundMarked);
+		for (int k = 0; k < count; k++)
+			if ((mask & 1 << k) != 0)
+				mark(aroundMarked[k], mine);
+	}
+
+	/***************************************************************************
+	 * Records that a cell is proven safe or a mine, and queues the
+	 * constraints around it, which now have one unknown cell fewer
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param mine
+	 *            true if the cell is a mine, false if it is safe
+	 **************************************************************************/
+	private void mark(int index, boolean mine) {
+		if (safe.get(index) || mines.get(index))
+			return;
+
+		if (mine) {
+			mines.set(index);
+			found.getMines().add(index);
+		} else {
+			safe.set(index);
+			found.getSafe().add(index);
+		}
+		enqueueNeighbors(index);
+	}
+
+	/***************************************************************************
+	 * Checks whether a cell is a constraint: exposed, not a mine and numbered
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @return true if the cell's number says something about its neighbors
+	 **************************************************************************/
+	boolean isConstraint(int index) {
+		return board.isExposed(index) && !board.isMine(index)
+				&& board.getMinecount(index) > 0;
+	}
+
+	/***************************************************************************
+	 * Adds a constraint to the work list, unless it is already waiting
+	 *
+	 * @param index
+	 *            the index of the cell
+	 **************************************************************************/
+	private void enqueue(int index) {
+		if (isConstraint(index) && !queued.get(index)) {
+			queued.set(index);
+			work.add(index);
+		}
+	}
+
+	/***************************************************************************
+	 * Adds the constraints around a cell to the work list
+	 *
+	 * @param index
+	 *            the index of the cell
+	 **************************************************************************/
+	private void enqueueNeighbors(int index) {
+		int count = topology.neighbors(index, aroundQueued);
+		for (int k = 0; k < count; k++)
+			enqueue(aroundQueued[k]);
+	}
+}
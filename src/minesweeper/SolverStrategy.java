@@ -0,0 +1,53 @@
+package minesweeper;
+
+/*******************************************************************************
+ * SolverStrategy plays the cells a Solver proves safe, and only when there
+ * are none guesses a random cell that isn't a known mine. The solver is kept
+ * up to date with the cells each move exposes rather than re-run each move.
+ * 
+ * @version 18 October 2026
+ ******************************************************************************/
+public class SolverStrategy extends RandomStrategy {
+
+	/** the solver of the game being played */
+	private Solver solver;
+
+	@Override
+	public void newGame(MineSweeperGame game) {
+		super.newGame(game);
+		if (solver == null || solver.getGame() != game)
+			solver = new Solver(game);
+		else
+			solver.reset();
+	}
+
+	/***************************************************************************
+	 * Gets the solver of the game being played
+	 * 
+	 * @return the solver
+	 **************************************************************************/
+	protected Solver getSolver() {
+		return solver;
+	}
+
+	@Override
+	public Move nextMove(MineSweeperGame game) {
+		int safe = solver.nextSafeCell();
+		if (safe >= 0)
+			return Move.select(safe / game.getCols(), safe % game.getCols());
+		return super.nextMove(game);
+	}
+
+	@Override
+	public void moveMade(Move move, ChangeSet changed) {
+		solver.update(changed);
+	}
+
+	/***************************************************************************
+	 * Guesses only among cells that aren't known to be mines
+	 **************************************************************************/
+	@Override
+	protected boolean isCandidate(MineSweeperGame game, int row, int col) {
+		return super.isCandidate(game, row, col) && !solver.isKnownMine(row, col);
+	}
+}
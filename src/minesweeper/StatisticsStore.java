@@ -0,0 +1,363 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************************
+ * StatisticsStore keeps a record of every game played, in a file that lasts
+ * from one run of the program to the next. Each finished game is appended to
+ * a log: its board settings, outcome, how long it took, how many moves were
+ * made and when it was played.
+ *
+ * The totals for each kind of board are kept in memory as the log is read
+ * and as games are recorded, so asking for them never reads the file. Once
+ * enough games have been appended the log is compacted: rewritten as one
+ * summary record for each kind of board, which then replace the game
+ * records they add up.
+ *
+ * Recording a game only updates the totals and hands the record to a
+ * background thread, which does all the writing, so the caller never waits
+ * on the disk.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public class StatisticsStore {
+
+	/** the bytes every statistics log starts with */
+	private static final int MAGIC = 0x4D535354; // "MSST"
+
+	/** the version of the file layout */
+	private static final int VERSION = 1;
+
+	/** the record tags */
+	private static final byte GAME = 'G';
+	private static final byte SUMMARY = 'S';
+
+	/** the size of a game record */
+	private static final int GAME_SIZE = 1 + 4 + 4 + 4 + 1 + 1 + 8 + 8 + 8;
+
+	/** the size of a summary record */
+	private static final int SUMMARY_SIZE = 1 + 4 + 4 + 4 + 1 + 6 * 8;
+
+	/** the game records appended before the log is compacted */
+	private static final int COMPACT_AFTER = 10000;
+
+	/** the store of each open file */
+	private static final Map<Path, StatisticsStore> STORES = new ConcurrentHashMap<>();
+
+	/** the log file */
+	private final Path file;
+
+	/** the log, open for appending */
+	private FileChannel channel;
+
+	/** the totals of each kind of board, guarded by this store */
+	private final Map<String, ConfigSummary> summaries = new HashMap<>();
+
+	/** the settings of each kind of board, by the same keys */
+	private final Map<String, int[]> configs = new HashMap<>();
+
+	/** the game records in the log, since it was last compacted */
+	private int gameRecords;
+
+	/** the number of games recorded since the store was opened */
+	private long recorded;
+
+	/** the games already in the totals written by the last compaction, whose
+	 * own records must not be appended after it */
+	private long compactedThrough;
+
+	/** the background thread doing the writing */
+	private final ExecutorService worker;
+
+	/***************************************************************************
+	 * Gets the store kept in a file, reading the file if it isn't open yet.
+	 * The file is closed when the program exits.
+	 *
+	 * @param file
+	 *            the statistics log
+	 * @return the store
+	 * @throws IOException
+	 *             if the file can't be read or is not a statistics log
+	 **************************************************************************/
+	public static StatisticsStore open(Path file) throws IOException {
+		Path key = file.toAbsolutePath().normalize();
+		StatisticsStore store = STORES.get(key);
+		if (store != null)
+			return store;
+
+		synchronized (STORES) {
+			store = STORES.get(key);
+			if (store == null) {
+				store = new StatisticsStore(key);
+				STORES.put(key, store);
+			}
+			return store;
+		}
+	}
+
+	/***************************************************************************
+	 * Constructor for StatisticsStore: reads the totals from the log, or
+	 * starts a new one
+	 **************************************************************************/
+	private StatisticsStore(Path file) throws IOException {
+		this.file = file;
+		if (Files.exists(file))
+			read();
+		else
+			writeLog(file);
+		channel = FileChannel.open(file, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+
+		worker = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "statistics-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+
+		if (gameRecords >= COMPACT_AFTER)
+			worker.execute(this::compact);
+	}
+
+	/***************************************************************************
+	 * Records a finished game
+	 *
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param numMines
+	 *            the number of mines on the board
+	 * @param mode
+	 *            how the board was laid out
+	 * @param outcome
+	 *            how the game ended
+	 * @param millis
+	 *            how long the game took, in milliseconds
+	 * @param clicks
+	 *            the number of moves made
+	 **************************************************************************/
+	public void recordGame(int rows, int cols, int numMines, GenerationMode mode,
+			GameStatus outcome, long millis, long clicks) {
+		ByteBuffer record = ByteBuffer.allocate(GAME_SIZE);
+		record.put(GAME).putInt(rows).putInt(cols).putInt(numMines);
+		record.put((byte) mode.ordinal()).put((byte) outcome.ordinal());
+		record.putLong(millis).putLong(clicks).putLong(System.currentTimeMillis());
+		record.flip();
+
+		long number;
+		synchronized (this) {
+			summary(rows, cols, numMines, mode).recordGame(outcome, millis, clicks);
+			number = ++recorded;
+		}
+
+		if (worker.isShutdown())
+			return;
+		worker.execute(() -> append(record, number));
+	}
+
+	/***************************************************************************
+	 * Appends a game record to the log, then compacts the log if it has grown
+	 * long enough. Runs on the background thread only.
+	 *
+	 * @param record
+	 *            the record
+	 * @param number
+	 *            the number of the game, counting from when the store opened
+	 **************************************************************************/
+	private void append(ByteBuffer record, long number) {
+		boolean full;
+		synchronized (this) {
+
+			// already counted by a compaction
+			if (number <= compactedThrough)
+				return;
+			full = ++gameRecords >= COMPACT_AFTER;
+		}
+
+		try {
+			while (record.hasRemaining())
+				channel.write(record);
+		} catch (IOException e) {
+			System.err.println("Statistics could not be saved: " + e);
+		}
+		if (full)
+			compact();
+	}
+
+	/***************************************************************************
+	 * Gets the totals of every game played on one kind of board
+	 *
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param numMines
+	 *            the number of mines on the board
+	 * @param mode
+	 *            how the board was laid out
+	 * @return a copy of the totals, all zero if no such game was played
+	 **************************************************************************/
+	public synchronized ConfigSummary getSummary(int rows, int cols,
+			int numMines, GenerationMode mode) {
+		ConfigSummary summary = summaries.get(key(rows, cols, numMines, mode));
+		return summary == null ? new ConfigSummary() : summary.copy();
+	}
+
+	/***************************************************************************
+	 * Waits for every write to finish and closes the log
+	 **************************************************************************/
+	public void close() {
+		worker.shutdown();
+		try {
+			worker.awaitTermination(10, TimeUnit.SECONDS);
+			channel.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			System.err.println("Statistics could not be saved: " + e);
+		}
+	}
+
+	/***************************************************************************
+	 * Rewrites the log as one summary record for each kind of board. The new
+	 * log is written beside the old one and then replaces it. Runs on the
+	 * background thread only.
+	 **************************************************************************/
+	private void compact() {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			synchronized (this) {
+				writeLog(temp);
+				gameRecords = 0;
+				compactedThrough = recorded;
+			}
+			channel.close();
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			channel = FileChannel.open(file, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			System.err.println("Statistics could not be compacted: " + e);
+		}
+	}
+
+	/***************************************************************************
+	 * Writes a log holding the header and a summary record for each kind of
+	 * board
+	 *
+	 * @param target
+	 *            the file to write
+	 **************************************************************************/
+	private void writeLog(Path target) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(8 + summaries.size() * SUMMARY_SIZE);
+		buffer.putInt(MAGIC).putInt(VERSION);
+
+		for (Map.Entry<String, ConfigSummary> entry : summaries.entrySet()) {
+			int[] config = configs.get(entry.getKey());
+			ConfigSummary summary = entry.getValue();
+			buffer.put(SUMMARY).putInt(config[0]).putInt(config[1]).putInt(config[2]);
+			buffer.put((byte) config[3]);
+			buffer.putLong(summary.getGames()).putLong(summary.getWins());
+			buffer.putLong(summary.getLosses()).putLong(summary.getTotalMillis());
+			buffer.putLong(summary.getTotalClicks()).putLong(summary.getBestWinMillis());
+		}
+		buffer.flip();
+
+		try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining())
+				out.write(buffer);
+			out.force(false);
+		}
+	}
+
+	/***************************************************************************
+	 * Reads the log, adding every record into the totals. A record cut off at
+	 * the end of the file, as left by a crash, is ignored; any other damage
+	 * fails as an IOException.
+	 **************************************************************************/
+	private void read() throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		if (buffer.remaining() < 8 || buffer.getInt() != MAGIC)
+			throw new IOException(file + " is not a statistics log");
+		if (buffer.getInt() != VERSION)
+			throw new IOException(file + " is from an unknown version");
+
+		while (buffer.hasRemaining()) {
+			byte tag = buffer.get(buffer.position());
+			int size = tag == GAME ? GAME_SIZE : tag == SUMMARY ? SUMMARY_SIZE : -1;
+			if (size < 0)
+				throw new IOException("corrupt statistics log at byte "
+						+ buffer.position());
+			if (buffer.remaining() < size)
+				break;
+
+			int start = buffer.position();
+			buffer.get();
+			int rows = buffer.getInt();
+			int cols = buffer.getInt();
+			int numMines = buffer.getInt();
+			int modeOrdinal = buffer.get();
+			int outcomeOrdinal = tag == GAME ? buffer.get(buffer.position()) : 0;
+			if (modeOrdinal < 0 || modeOrdinal >= GenerationMode.values().length
+					|| outcomeOrdinal < 0
+					|| outcomeOrdinal >= GameStatus.values().length)
+				throw new IOException("corrupt statistics log at byte " + start);
+			GenerationMode mode = GenerationMode.values()[modeOrdinal];
+			ConfigSummary summary = summary(rows, cols, numMines, mode);
+
+			if (tag == GAME) {
+				GameStatus outcome = GameStatus.values()[buffer.get()];
+				long millis = buffer.getLong();
+				long clicks = buffer.getLong();
+				buffer.getLong(); // when the game was played
+				summary.recordGame(outcome, millis, clicks);
+				gameRecords++;
+			} else {
+				ConfigSummary totals = new ConfigSummary();
+				totals.set(buffer.getLong(), buffer.getLong(), buffer.getLong(),
+						buffer.getLong(), buffer.getLong(), buffer.getLong());
+				summary.combine(totals);
+			}
+		}
+	}
+
+	/***************************************************************************
+	 * Gets the totals of a kind of board, starting them if there are none
+	 *
+	 * @return the totals, kept in the store
+	 **************************************************************************/
+	private ConfigSummary summary(int rows, int cols, int numMines,
+			GenerationMode mode) {
+		String key = key(rows, cols, numMines, mode);
+		ConfigSummary summary = summaries.get(key);
+		if (summary == null) {
+			summary = new ConfigSummary();
+			summaries.put(key, summary);
+			configs.put(key, new int[] { rows, cols, numMines, mode.ordinal() });
+		}
+		return summary;
+	}
+
+	/***************************************************************************
+	 * Gets the key a kind of board is kept under
+	 *
+	 * @return the key
+	 **************************************************************************/
+	private static String key(int rows, int cols, int numMines, GenerationMode mode) {
+		return rows + "x" + cols + "/" + numMines + "/" + mode;
+	}
+}
@@ -0,0 +1,323 @@
+package minesweeper;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*******************************************************************************
+ * Topology says which cells of a board are neighbors. The neighbors of a
+ * square board's cells are worked out from their rows and columns as they are
+ * asked for, so a board of any size costs nothing extra. Those of every other
+ * shape are worked out once, when the topology is made, and kept back to back
+ * in one array, with a second array giving where each cell's run of them
+ * starts. Either way neighbors copies a cell's neighbors out in the same
+ * order, so square, wrap-around, hexagonal and custom boards are all played
+ * by the same loops.
+ *
+ * The cells of every shape are laid out in rows and columns and addressed by
+ * index, as on Board; a graph links them however it likes. A cell can have at
+ * most fifteen neighbors, the most its byte on the board can count.
+ *
+ * A topology never changes once made, so boards of the same shape and size
+ * share one: the last made of each shape is kept and handed out again.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+public final class Topology {
+
+	/** the most neighbors a cell can have */
+	public static final int MAX_NEIGHBORS = Board.COUNT_MASK;
+
+	/** the row and column offsets of the eight cells around a cell */
+	private static final int[] AROUND = { -1, -1, -1, 0, -1, 1, 0, -1, 0, 1, 1, -1,
+			1, 0, 1, 1 };
+
+	/** the offsets of the six neighbors of a hex cell in an even row, and in
+	 * an odd row, which is shifted half a cell right */
+	private static final int[] HEX_EVEN_ROW = { -1, -1, -1, 0, 0, -1, 0, 1, 1, -1,
+			1, 0 };
+	private static final int[] HEX_ODD_ROW = { -1, 0, -1, 1, 0, -1, 0, 1, 1, 0, 1,
+			1 };
+
+	/** the last topology made of each shape */
+	private static final AtomicReferenceArray<Topology> RECENT = new AtomicReferenceArray<>(
+			BoardShape.values().length);
+
+	/** how the cells neighbor each other */
+	private final BoardShape shape;
+
+	/** the number of rows on the board */
+	private final int rows;
+
+	/** the number of columns on the board */
+	private final int cols;
+
+	/** the number of cells */
+	private final int size;
+
+	/** where each cell's neighbors start in neighbors, then where the last
+	 * cell's end; null on a square board */
+	private final int[] starts;
+
+	/** the index of every neighbor of every cell, one cell after another */
+	private final int[] neighbors;
+
+	private Topology(BoardShape shape, int rows, int cols, int[] starts,
+			int[] neighbors) {
+		this.shape = shape;
+		this.rows = rows;
+		this.cols = cols;
+		this.size = Math.multiplyExact(rows, cols);
+		this.starts = starts;
+		this.neighbors = neighbors;
+	}
+
+	/***************************************************************************
+	 * Gets the topology of a square board, whose cells have up to eight
+	 * neighbors
+	 *
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @return the topology
+	 **************************************************************************/
+	public static Topology square(int rows, int cols) {
+		return of(BoardShape.Square, rows, cols);
+	}
+
+	/***************************************************************************
+	 * Gets the topology of a board of one of the regular shapes: Square,
+	 * Torus or Hex
+	 *
+	 * @param shape
+	 *            the shape of the board
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @return the topology
+	 * @throws IllegalArgumentException
+	 *             if the shape is Graph, which needs its neighbors given
+	 **************************************************************************/
+	public static Topology of(BoardShape shape, int rows, int cols) {
+		if (shape == BoardShape.Graph)
+			throw new IllegalArgumentException("a graph needs its neighbors given");
+		Topology recent = RECENT.get(shape.ordinal());
+		if (recent != null && recent.rows == rows && recent.cols == cols)
+			return recent;
+
+		Topology made = shape == BoardShape.Square
+				? new Topology(shape, rows, cols, null, null)
+				: grid(shape, rows, cols);
+		RECENT.set(shape.ordinal(), made);
+		return made;
+	}
+
+	/***************************************************************************
+	 * Makes the neighbor tables of a torus or hexagonal board. The neighbors
+	 * of each cell are listed row by row, left to right, as on a square
+	 * board, so a cascade spreads in the same order on every shape.
+	 *
+	 * @param shape
+	 *            the shape of the board
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @return the topology
+	 **************************************************************************/
+	private static Topology grid(BoardShape shape, int rows, int cols) {
+		int size = Math.multiplyExact(rows, cols);
+		int[] starts = new int[size + 1];
+		int[] neighbors = new int[Math.multiplyExact(size,
+				shape == BoardShape.Hex ? 6 : 8)];
+		boolean wrap = shape == BoardShape.Torus;
+
+		// on a narrow torus a cell can wrap round to itself or reach the same
+		// neighbor twice
+		boolean narrow = wrap && (rows < 3 || cols < 3);
+		int count = 0;
+
+		for (int r = 0; r < rows; r++) {
+			int[] offsets = shape != BoardShape.Hex ? AROUND
+					: (r & 1) == 0 ? HEX_EVEN_ROW : HEX_ODD_ROW;
+			for (int c = 0; c < cols; c++) {
+				int index = r * cols + c;
+				starts[index] = count;
+
+				for (int k = 0; k < offsets.length; k += 2) {
+					int nr = r + offsets[k];
+					int nc = c + offsets[k + 1];
+					if (wrap) {
+						nr = nr < 0 ? nr + rows : nr >= rows ? nr - rows : nr;
+						nc = nc < 0 ? nc + cols : nc >= cols ? nc - cols : nc;
+					} else if (nr < 0 || nr >= rows || nc < 0 || nc >= cols)
+						continue;
+
+					int neighbor = nr * cols + nc;
+					if (narrow && (neighbor == index
+							|| contains(neighbors, starts[index], count, neighbor)))
+						continue;
+					neighbors[count++] = neighbor;
+				}
+			}
+		}
+		starts[size] = count;
+		return new Topology(shape, rows, cols, starts, neighbors);
+	}
+
+	/***************************************************************************
+	 * Makes the topology of a board whose neighbors are given cell by cell.
+	 * Neighbors must be mutual: if one cell neighbors another, the other
+	 * neighbors it.
+	 *
+	 * @param rows
+	 *            the number of rows on the board
+	 * @param cols
+	 *            the number of columns on the board
+	 * @param adjacency
+	 *            the indices of the neighbors of each cell, by index
+	 * @return the topology
+	 * @throws IllegalArgumentException
+	 *             if a cell's neighbors are missing, off the board, repeated,
+	 *             too many or not mutual
+	 **************************************************************************/
+	public static Topology graph(int rows, int cols, int[][] adjacency) {
+		int size = Math.multiplyExact(rows, cols);
+		if (adjacency.length != size)
+			throw new IllegalArgumentException("the neighbors of all " + size
+					+ " cells are needed");
+
+		int[] starts = new int[size + 1];
+		for (int i = 0; i < size; i++) {
+			if (adjacency[i].length > MAX_NEIGHBORS)
+				throw new IllegalArgumentException("cell " + i + " has more than "
+						+ MAX_NEIGHBORS + " neighbors");
+			starts[i + 1] = starts[i] + adjacency[i].length;
+		}
+
+		int[] neighbors = new int[starts[size]];
+		for (int i = 0; i < size; i++) {
+			for (int k = 0; k < adjacency[i].length; k++) {
+				int neighbor = adjacency[i][k];
+				if (neighbor < 0 || neighbor >= size || neighbor == i
+						|| contains(neighbors, starts[i], starts[i] + k, neighbor))
+					throw new IllegalArgumentException("cell " + i
+							+ " can't neighbor " + neighbor);
+				neighbors[starts[i] + k] = neighbor;
+			}
+		}
+
+		for (int i = 0; i < size; i++) {
+			for (int k = starts[i]; k < starts[i + 1]; k++) {
+				int neighbor = neighbors[k];
+				if (!contains(neighbors, starts[neighbor], starts[neighbor + 1], i))
+					throw new IllegalArgumentException("cell " + i + " neighbors "
+							+ neighbor + " but not the other way round");
+			}
+		}
+		return new Topology(BoardShape.Graph, rows, cols, starts, neighbors);
+	}
+
+	/***************************************************************************
+	 * Checks whether part of an array holds a value
+	 *
+	 * @param values
+	 *            the array
+	 * @param from
+	 *            the first position to look at
+	 * @param to
+	 *            one past the last position to look at
+	 * @param value
+	 *            the value to look for
+	 * @return true if the value is there
+	 **************************************************************************/
+	private static boolean contains(int[] values, int from, int to, int value) {
+		for (int i = from; i < to; i++)
+			if (values[i] == value)
+				return true;
+		return false;
+	}
+
+	/***************************************************************************
+	 * Getter method for shape
+	 **************************************************************************/
+	public BoardShape getShape() {
+		return shape;
+	}
+
+	/***************************************************************************
+	 * Getter method for rows
+	 **************************************************************************/
+	public int getRows() {
+		return rows;
+	}
+
+	/***************************************************************************
+	 * Getter method for cols
+	 **************************************************************************/
+	public int getCols() {
+		return cols;
+	}
+
+	/***************************************************************************
+	 * Gets the total number of cells
+	 *
+	 * @return the number of cells on the board
+	 **************************************************************************/
+	public int size() {
+		return size;
+	}
+
+	/***************************************************************************
+	 * Copies out the neighbors of a cell, in the same order every time
+	 *
+	 * @param index
+	 *            the index of the cell
+	 * @param into
+	 *            where the indices of the neighbors go, with room for
+	 *            MAX_NEIGHBORS
+	 * @return the number of neighbors
+	 **************************************************************************/
+	public int neighbors(int index, int[] into) {
+		if (starts != null) {
+			int from = starts[index];
+			int count = starts[index + 1] - from;
+			System.arraycopy(neighbors, from, into, 0, count);
+			return count;
+		}
+
+		int r = index / cols;
+		int c = index - r * cols;
+
+		// most cells are away from the edges and have all eight
+		if (r > 0 && r < rows - 1 && c > 0 && c < cols - 1) {
+			int above = index - cols;
+			int below = index + cols;
+			into[0] = above - 1;
+			into[1] = above;
+			into[2] = above + 1;
+			into[3] = index - 1;
+			into[4] = index + 1;
+			into[5] = below - 1;
+			into[6] = below;
+			into[7] = below + 1;
+			return 8;
+		}
+
+		int firstRow = r > 0 ? -1 : 0;
+		int lastRow = r < rows - 1 ? 1 : 0;
+		int firstCol = c > 0 ? -1 : 0;
+		int lastCol = c < cols - 1 ? 1 : 0;
+		int count = 0;
+		for (int dr = firstRow; dr <= lastRow; dr++)
+			for (int dc = firstCol; dc <= lastCol; dc++)
+				if (dr != 0 || dc != 0)
+					into[count++] = index + dr * cols + dc;
+		return count;
+	}
+
+	@Override
+	public String toString() {
+		return shape + " " + rows + "x" + cols;
+	}
+}
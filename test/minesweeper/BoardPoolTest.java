@@ -0,0 +1,38 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/*******************************************************************************
+ * Tests for BoardPool.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class BoardPoolTest {
+
+	@Test
+	void pooledBoardsStartLikeBoardsLaidOutOnTheSpot() throws InterruptedException {
+		GameStatus fresh = new MineSweeperGame(5, 5, 0).getGameStatus();
+		MineSweeperGame game = new MineSweeperGame(BoardPool.of(5, 5, 0,
+				GenerationMode.Random));
+		assertEquals(fresh, game.getGameStatus());
+
+		for (int i = 0; i < 10; i++) {
+			// give the pool time to have a board ready
+			Thread.sleep(20);
+			game.reset();
+			assertEquals(fresh, game.getGameStatus());
+		}
+	}
+
+	@Test
+	void oldPoolsAreClosedToMakeRoom() {
+		BoardPool first = BoardPool.of(6, 7, 5, GenerationMode.Random);
+		for (int mines = 1; mines <= 8; mines++)
+			BoardPool.of(6, 6, mines, GenerationMode.Random);
+
+		assertNotSame(first, BoardPool.of(6, 7, 5, GenerationMode.Random));
+		assertNull(first.poll());
+	}
+}
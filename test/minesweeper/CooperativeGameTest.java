@@ -0,0 +1,104 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/*******************************************************************************
+ * Tests for CooperativeGame.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class CooperativeGameTest {
+
+	/** the number of players on each board */
+	private static final int PLAYERS = 8;
+
+	@Test
+	void countsAgreeWithTheBoardAfterOverlappingCascades() throws Exception {
+		for (long seed = 1; seed <= 5; seed++)
+			playAndCheck(seed);
+	}
+
+	/***************************************************************************
+	 * Plays a sparse board with every player at once, so their cascades keep
+	 * running into each other, then checks the counts kept by the moves
+	 * against the board
+	 **************************************************************************/
+	private static void playAndCheck(long seed) throws Exception {
+		int rows = 300, cols = 300, numMines = 900;
+		CooperativeGame game = new CooperativeGame(rows, cols, numMines, seed,
+				GenerationMode.Random);
+		Board board = game.getBoard();
+		AtomicLong reported = new AtomicLong();
+		CyclicBarrier start = new CyclicBarrier(PLAYERS);
+		Throwable[] failure = new Throwable[1];
+
+		Thread[] threads = new Thread[PLAYERS];
+		for (int p = 0; p < PLAYERS; p++) {
+			SplittableRandom random = new SplittableRandom(seed * PLAYERS + p);
+			threads[p] = new Thread(() -> {
+				try {
+					start.await();
+					for (int move = 0; move < 20000
+							&& game.getGameStatus() == GameStatus.NotOverYet; move++) {
+						int index = random.nextInt(board.size());
+						int row = index / cols, col = index % cols;
+						if (board.isExposed(index))
+							reported.addAndGet(game.chord(row, col).size());
+						else if (board.isMine(index) || random.nextInt(4) == 0)
+							game.toggleFlag(row, col);
+						else
+							reported.addAndGet(game.select(row, col).size());
+					}
+				} catch (Throwable e) {
+					failure[0] = e;
+				}
+			});
+			threads[p].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertNull(failure[0]);
+
+		int exposed = 0, exposedSafe = 0, correctFlags = 0, wrongFlags = 0;
+		boolean mineExposed = false;
+		for (int i = 0; i < board.size(); i++) {
+			if (board.isExposed(i)) {
+				exposed++;
+				if (board.isMine(i))
+					mineExposed = true;
+				else
+					exposedSafe++;
+			}
+			if (board.isFlagged(i)) {
+				if (board.isMine(i))
+					correctFlags++;
+				else
+					wrongFlags++;
+			}
+		}
+
+		// every cell was exposed by exactly one move, and counted once
+		assertEquals(exposed, reported.get(), "seed " + seed);
+		assertEquals(rows * cols - numMines - exposedSafe,
+				game.getUnexposedSafeCount(), "seed " + seed);
+		assertEquals(correctFlags, game.getCorrectFlagCount(), "seed " + seed);
+		assertEquals(wrongFlags, game.getWrongFlagCount(), "seed " + seed);
+
+		// the status was decided by the move that made it so
+		GameStatus status = game.getGameStatus();
+		if (mineExposed)
+			assertNotEquals(GameStatus.NotOverYet, status, "seed " + seed);
+		if (status == GameStatus.Lost)
+			assertTrue(mineExposed, "seed " + seed);
+		boolean cleared = game.getUnexposedSafeCount() == 0
+				|| correctFlags == numMines && wrongFlags == 0;
+		if (status == GameStatus.NotOverYet)
+			assertFalse(cleared, "seed " + seed);
+	}
+}
@@ -0,0 +1,114 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/*******************************************************************************
+ * Tests for the changes MineSweeperGame publishes.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class GameChangesTest {
+
+	@Test
+	void batchesArriveInOrderWithTheCellsEachActionChanged()
+			throws InterruptedException {
+		MineSweeperGame game = new MineSweeperGame(9, 9, 10, 42);
+		Collector collector = new Collector();
+		game.subscribe(collector);
+		assertTrue(collector.subscribed.await(5, TimeUnit.SECONDS));
+
+		ChangeSet exposed = game.select(0, 0);
+		int hidden = firstHidden(game.getBoard());
+		ChangeSet flagged = game.toggleFlag(hidden / 9, hidden % 9);
+		ChangeSet undone = game.undo();
+		game.closeChanges();
+		assertTrue(collector.completed.await(5, TimeUnit.SECONDS));
+
+		List<GameChanges> batches = collector.batches;
+		assertEquals(3, batches.size());
+		for (int i = 0; i < batches.size(); i++)
+			assertEquals(i + 1, batches.get(i).getSequence());
+
+		assertSameCells(exposed,
+				batches.get(0).find(GameChange.Type.CellsExposed).getCells());
+		assertSameCells(flagged,
+				batches.get(1).find(GameChange.Type.FlagsToggled).getCells());
+		assertSameCells(undone,
+				batches.get(2).find(GameChange.Type.FlagsToggled).getCells());
+
+		GameChange counters = batches.get(2).find(GameChange.Type.CountersChanged);
+		assertEquals(0, counters.getFlags());
+		assertEquals(game.getBoard().getUnexposedSafeCount(), counters.getCellsLeft());
+	}
+
+	@Test
+	void aSubscriberThatFallsBehindDoesNotHoldUpTheGame() {
+		MineSweeperGame game = new MineSweeperGame(9, 9, 10, 42);
+		game.subscribe(new Collector() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				// never asks for a batch
+			}
+		});
+
+		int moves = Flow.defaultBufferSize() * 4;
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+			for (int i = 0; i < moves; i++)
+				game.toggleFlag(0, 0);
+		});
+		assertEquals(moves, game.getMoveCount());
+	}
+
+	private static void assertSameCells(ChangeSet expected, ChangeSet actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++)
+			assertEquals(expected.getIndex(i), actual.getIndex(i));
+	}
+
+	private static int firstHidden(Board board) {
+		for (int i = 0; i < board.size(); i++)
+			if (!board.isExposed(i))
+				return i;
+		throw new AssertionError("no hidden cell");
+	}
+
+	/***************************************************************************
+	 * Keeps every batch it is sent
+	 **************************************************************************/
+	private static class Collector implements Flow.Subscriber<GameChanges> {
+
+		final List<GameChanges> batches = new CopyOnWriteArrayList<>();
+		final CountDownLatch subscribed = new CountDownLatch(1);
+		final CountDownLatch completed = new CountDownLatch(1);
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+			subscribed.countDown();
+		}
+
+		@Override
+		public void onNext(GameChanges changes) {
+			batches.add(changes);
+		}
+
+		@Override
+		public void onError(Throwable error) {
+			fail(error);
+		}
+
+		@Override
+		public void onComplete() {
+			completed.countDown();
+		}
+	}
+}
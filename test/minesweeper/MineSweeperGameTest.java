@@ -0,0 +1,171 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/*******************************************************************************
+ * Tests for MineSweeperGame.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class MineSweeperGameTest {
+
+	@Test
+	void movesAfterALossChangeNothing() {
+		MineSweeperGame game = new MineSweeperGame(9, 9, 10, 42);
+		Board board = game.getBoard();
+		game.select(0, 0);
+		assertEquals(GameStatus.NotOverYet, game.getGameStatus());
+
+		int mine = firstCell(board, true);
+		game.select(mine / 9, mine % 9);
+		assertEquals(GameStatus.Lost, game.getGameStatus());
+
+		int safe = firstCell(board, false);
+		int row = safe / 9;
+		int col = safe % 9;
+		assertTrue(game.select(row, col).isEmpty());
+		assertTrue(game.toggleFlag(row, col).isEmpty());
+		assertTrue(game.chord(row, col).isEmpty());
+		assertTrue(game.play(List.of(Move.select(row, col), Move.flag(row, col)))
+				.isEmpty());
+		assertFalse(board.isExposed(safe));
+		assertFalse(board.isFlagged(safe));
+		assertEquals(GameStatus.Lost, game.getGameStatus());
+	}
+
+	@Test
+	void batchStopsOnceTheBoardIsCleared() {
+		MineSweeperGame game = new MineSweeperGame(9, 9, 10, 42);
+		Board board = game.getBoard();
+		game.select(0, 0);
+
+		List<Move> moves = new ArrayList<>();
+		for (int i = 0; i < board.size(); i++)
+			if (!board.isExposed(i) && !board.isMine(i))
+				moves.add(Move.select(i / 9, i % 9));
+		int mine = firstCell(board, true);
+		moves.add(Move.select(mine / 9, mine % 9));
+
+		ChangeSet changed = game.play(moves);
+		assertEquals(GameStatus.Won, game.getGameStatus());
+		assertFalse(board.isExposed(mine));
+		for (int k = 0; k < changed.size(); k++)
+			assertNotEquals(mine, changed.getIndex(k));
+	}
+
+	@Test
+	void chordNeedsAsManyFlagsAsTheCount() {
+		MineSweeperGame game = TestBoards.game(
+				"*###",
+				"#.##",
+				"####",
+				"###*");
+		Board board = game.getBoard();
+
+		assertTrue(game.chord(1, 1).isEmpty());
+		game.toggleFlag(0, 0);
+		game.toggleFlag(2, 2);
+		assertTrue(game.chord(1, 1).isEmpty());
+		assertTrue(game.chord(0, 1).isEmpty());
+		assertEquals(1, exposedCount(board));
+
+		game.toggleFlag(2, 2);
+		ChangeSet changed = game.chord(1, 1);
+		assertEquals(exposedCount(board) - 1, changed.size());
+		for (int r = 0; r <= 2; r++)
+			for (int c = 0; c <= 2; c++)
+				assertEquals(r != 0 || c != 0, board.isExposed(board.index(r, c)));
+		assertNotEquals(GameStatus.Lost, game.getGameStatus());
+	}
+
+	@Test
+	void chordOnAWrongFlagExposesTheMine() {
+		MineSweeperGame game = TestBoards.game(
+				"*###",
+				"#.##",
+				"####",
+				"###*");
+		Board board = game.getBoard();
+
+		game.toggleFlag(0, 1);
+		ChangeSet changed = game.chord(1, 1);
+		assertTrue(board.isExposed(0));
+		assertFalse(board.isExposed(1));
+		assertEquals(exposedCount(board) - 1, changed.size());
+		assertEquals(GameStatus.Lost, game.getGameStatus());
+	}
+
+	@Test
+	void cascadeReportsExactlyTheCellsItExposes() {
+		int[] around = new int[Topology.MAX_NEIGHBORS];
+		int cascades = 0;
+		for (long seed = 0; seed < 100; seed++) {
+			MineSweeperGame game = new MineSweeperGame(20, 30, 60, seed);
+			Board board = game.getBoard();
+			game.select(0, 0);
+			for (int i = 7; i < board.size(); i += 37)
+				if (!board.isExposed(i))
+					game.toggleFlag(i / 30, i % 30);
+
+			for (int start = 0; start < board.size(); start++) {
+				if (board.isExposed(start) || board.isFlagged(start)
+						|| board.isMine(start) || board.getMinecount(start) != 0)
+					continue;
+
+				// the region a flood fill from the cell reaches
+				boolean[] expected = new boolean[board.size()];
+				ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(start));
+				expected[start] = true;
+				while (!queue.isEmpty()) {
+					int index = queue.poll();
+					if (board.getMinecount(index) != 0)
+						continue;
+					int count = board.getTopology().neighbors(index, around);
+					for (int k = 0; k < count; k++) {
+						int next = around[k];
+						if (!expected[next] && !board.isExposed(next)
+								&& !board.isFlagged(next)) {
+							expected[next] = true;
+							queue.add(next);
+						}
+					}
+				}
+
+				ChangeSet changed = game.select(start / 30, start % 30);
+				boolean[] reported = new boolean[board.size()];
+				for (int k = 0; k < changed.size(); k++) {
+					assertFalse(reported[changed.getIndex(k)], "seed " + seed);
+					reported[changed.getIndex(k)] = true;
+				}
+				assertArrayEquals(expected, reported, "seed " + seed);
+				cascades++;
+				break;
+			}
+		}
+		assertTrue(cascades > 50);
+	}
+
+	private static int exposedCount(Board board) {
+		int exposed = 0;
+		for (int i = 0; i < board.size(); i++)
+			if (board.isExposed(i))
+				exposed++;
+		return exposed;
+	}
+
+	/***************************************************************************
+	 * Finds the first hidden cell that is, or isn't, a mine
+	 **************************************************************************/
+	private static int firstCell(Board board, boolean mine) {
+		for (int i = 0; i < board.size(); i++)
+			if (!board.isExposed(i) && board.isMine(i) == mine)
+				return i;
+		throw new AssertionError("no such cell");
+	}
+}
@@ -0,0 +1,102 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/*******************************************************************************
+ * Tests for MoveJournal, through the undo and redo of MineSweeperGame.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class MoveJournalTest {
+
+	@Test
+	void undoAndRedoOfACascadeRestoreTheBoard() {
+		int checked = 0;
+		for (long seed = 0; seed < 50; seed++) {
+			MineSweeperGame game = new MineSweeperGame(16, 16, 30, seed);
+			Board board = game.getBoard();
+			game.select(0, 0);
+			game.toggleFlag(15, 15);
+			if (game.getGameStatus() != GameStatus.NotOverYet)
+				continue;
+
+			int blank = firstHiddenBlank(board);
+			if (blank < 0)
+				continue;
+			byte[] before = snapshot(board);
+			int[] countsBefore = counts(board);
+
+			ChangeSet changed = game.select(blank / 16, blank % 16);
+			assertTrue(changed.size() > 1, "seed " + seed);
+			byte[] after = snapshot(board);
+			int[] countsAfter = counts(board);
+			GameStatus statusAfter = game.getGameStatus();
+
+			game.undo();
+			assertArrayEquals(before, snapshot(board), "seed " + seed);
+			assertArrayEquals(countsBefore, counts(board), "seed " + seed);
+			assertEquals(GameStatus.NotOverYet, game.getGameStatus());
+
+			game.redo();
+			assertArrayEquals(after, snapshot(board), "seed " + seed);
+			assertArrayEquals(countsAfter, counts(board), "seed " + seed);
+			assertEquals(statusAfter, game.getGameStatus());
+			checked++;
+		}
+		assertTrue(checked > 10);
+	}
+
+	@Test
+	void undoAndRedoOfAMovedMineRestoreTheBoard() {
+		MineSweeperGame game = new MineSweeperGame(9, 9, 10, 7);
+		Board board = game.getBoard();
+		byte[] before = snapshot(board);
+		int[] countsBefore = counts(board);
+
+		// the first select is on a mine, which is moved out of the way
+		int mine = 0;
+		while (!board.isMine(mine))
+			mine++;
+		game.select(mine / 9, mine % 9);
+		assertFalse(board.isMine(mine));
+		assertEquals(GameStatus.NotOverYet, game.getGameStatus());
+		byte[] after = snapshot(board);
+		int[] countsAfter = counts(board);
+
+		game.undo();
+		assertArrayEquals(before, snapshot(board));
+		assertArrayEquals(countsBefore, counts(board));
+
+		game.redo();
+		assertArrayEquals(after, snapshot(board));
+		assertArrayEquals(countsAfter, counts(board));
+	}
+
+	/***************************************************************************
+	 * Finds a hidden safe cell with no mines around it
+	 **************************************************************************/
+	private static int firstHiddenBlank(Board board) {
+		for (int i = 0; i < board.size(); i++)
+			if (!board.isExposed(i) && !board.isFlagged(i) && !board.isMine(i)
+					&& board.getMinecount(i) == 0)
+				return i;
+		return -1;
+	}
+
+	private static byte[] snapshot(Board board) {
+		byte[] cells = new byte[board.size()];
+		for (int i = 0; i < cells.length; i++)
+			cells[i] = (byte) board.getState(i);
+		return cells;
+	}
+
+	/***************************************************************************
+	 * Gets the running counts the board keeps alongside its cells
+	 **************************************************************************/
+	private static int[] counts(Board board) {
+		return new int[] { board.getMineCount(), board.getUnexposedSafeCount(),
+				board.getCorrectFlagCount(), board.getWrongFlagCount() };
+	}
+}
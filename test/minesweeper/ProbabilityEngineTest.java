@@ -0,0 +1,109 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/*******************************************************************************
+ * Tests for ProbabilityEngine.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class ProbabilityEngineTest {
+
+	/** the size of the boards, small enough to try every layout */
+	private static final int SIZE = 5;
+
+	/** the number of mines on the boards */
+	private static final int MINES = 5;
+
+	@Test
+	void probabilitiesMatchEveryLayoutCounted() {
+		for (long seed = 0; seed < 60; seed++) {
+			MineSweeperGame game = new MineSweeperGame(SIZE, SIZE, MINES, seed);
+			Board board = game.getBoard();
+			Solver solver = new Solver(game);
+			ProbabilityEngine engine = new ProbabilityEngine(solver);
+			SplittableRandom random = new SplittableRandom(seed);
+
+			// check the probabilities after each of a few safe selects
+			solver.update(game.select(random.nextInt(SIZE), random.nextInt(SIZE)));
+			for (int move = 0; move < 3
+					&& game.getGameStatus() == GameStatus.NotOverYet; move++) {
+				MineProbabilities probabilities = engine.compute();
+				double[] expected = bruteForce(board);
+				for (int i = 0; i < board.size(); i++)
+					if (!board.isExposed(i))
+						assertEquals(expected[i], probabilities.getProbability(i / SIZE,
+								i % SIZE), 1e-9, "seed " + seed + " cell " + i);
+
+				int safe;
+				do
+					safe = random.nextInt(board.size());
+				while (board.isExposed(safe) || board.isMine(safe));
+				solver.update(game.select(safe / SIZE, safe % SIZE));
+			}
+		}
+	}
+
+	/***************************************************************************
+	 * Works out the probability of each cell being a mine by trying every way
+	 * the mines could lie in the hidden cells and keeping those that agree
+	 * with every exposed number
+	 **************************************************************************/
+	private static double[] bruteForce(Board board) {
+		int[] hidden = new int[board.size()];
+		int hiddenCount = 0;
+		int[] around = new int[Topology.MAX_NEIGHBORS];
+		long[] numberMasks = new long[board.size()];
+		int[] numbers = new int[board.size()];
+		int numberCount = 0;
+		for (int i = 0; i < board.size(); i++) {
+			if (!board.isExposed(i)) {
+				hidden[hiddenCount++] = i;
+				continue;
+			}
+			int count = board.getTopology().neighbors(i, around);
+			long mask = 0;
+			for (int k = 0; k < count; k++)
+				mask |= 1L << around[k];
+			numberMasks[numberCount] = mask;
+			numbers[numberCount++] = board.getMinecount(i);
+		}
+
+		long[] mineCounts = new long[board.size()];
+		long layouts = count(hidden, hiddenCount, 0, MINES, 0L, numberMasks,
+				numbers, numberCount, mineCounts);
+		double[] probabilities = new double[board.size()];
+		for (int i = 0; i < board.size(); i++)
+			probabilities[i] = (double) mineCounts[i] / layouts;
+		return probabilities;
+	}
+
+	/***************************************************************************
+	 * Counts the layouts that place the remaining mines in the hidden cells
+	 * from next on, adding each one's mines into mineCounts
+	 **************************************************************************/
+	private static long count(int[] hidden, int hiddenCount, int next,
+			int minesLeft, long layout, long[] numberMasks, int[] numbers,
+			int numberCount, long[] mineCounts) {
+		if (minesLeft == 0) {
+			for (int n = 0; n < numberCount; n++)
+				if (Long.bitCount(layout & numberMasks[n]) != numbers[n])
+					return 0;
+			for (long bits = layout; bits != 0; bits &= bits - 1)
+				mineCounts[Long.numberOfTrailingZeros(bits)]++;
+			return 1;
+		}
+		if (hiddenCount - next < minesLeft)
+			return 0;
+
+		return count(hidden, hiddenCount, next + 1, minesLeft - 1,
+				layout | 1L << hidden[next], numberMasks, numbers, numberCount,
+				mineCounts)
+				+ count(hidden, hiddenCount, next + 1, minesLeft, layout,
+						numberMasks, numbers, numberCount, mineCounts);
+	}
+}
@@ -0,0 +1,95 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*******************************************************************************
+ * Tests for ReplayPlayer.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class ReplayPlayerTest {
+
+	/** where each part of the one game is in the file */
+	private static final int ROWS = 6;
+	private static final int MINES = 8;
+	private static final int MODE = 9;
+	private static final int MOVE = 19;
+	private static final int CELL = 21;
+	private static final int STATUS = 23;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void playsTheRecordedMove() throws IOException, InterruptedException {
+		Path file = dir.resolve("good.bin");
+		Files.write(file, replay());
+
+		try (ReplayPlayer player = new ReplayPlayer(file)) {
+			assertTrue(player.nextGame());
+			MineSweeperGame game = player.replay(false);
+			assertTrue(game.getBoard().isExposed(40));
+			assertEquals(GameStatus.NotOverYet, player.getRecordedStatus());
+			assertFalse(player.nextGame());
+		}
+	}
+
+	@Test
+	void corruptGamesFailAsIOException() throws IOException {
+		byte[] good = replay();
+
+		assertCorrupt(withByte(good, ROWS, 0), "no rows");
+		assertCorrupt(withByte(good, MINES, 82), "too many mines");
+		assertCorrupt(withByte(good, MODE, 0x0F), "mode");
+		assertCorrupt(withByte(good, MODE, BoardShape.Graph.ordinal() << 4), "shape");
+		assertCorrupt(withByte(good, MOVE, ReplayWriter.MOVE
+				+ MoveType.values().length), "move type");
+		assertCorrupt(withByte(good, CELL, 81), "cell");
+		assertCorrupt(withByte(good, STATUS, GameStatus.values().length), "status");
+		assertCorrupt(withByte(good, STATUS, -1), "negative status");
+	}
+
+	/***************************************************************************
+	 * Checks that reading and playing the given bytes fails with an
+	 * IOException
+	 **************************************************************************/
+	private void assertCorrupt(byte[] bytes, String name) throws IOException {
+		Path file = dir.resolve(name.replace(' ', '-') + ".bin");
+		Files.write(file, bytes);
+		try (ReplayPlayer player = new ReplayPlayer(file)) {
+			assertThrows(IOException.class, () -> {
+				while (player.nextGame())
+					player.replay(false);
+			}, name);
+		}
+	}
+
+	/***************************************************************************
+	 * Builds a replay of one game on a 9 by 9 board with 10 mines, with one
+	 * select in the middle
+	 **************************************************************************/
+	private static byte[] replay() {
+		ByteBuffer buffer = ByteBuffer.allocate(24);
+		buffer.put(ReplayWriter.MAGIC).put(ReplayWriter.VERSION);
+		buffer.put(ReplayWriter.GAME).put((byte) 9).put((byte) 9).put((byte) 10);
+		buffer.put((byte) GenerationMode.Random.ordinal()).putLong(7).put((byte) 0);
+		buffer.put((byte) (ReplayWriter.MOVE + MoveType.Select.ordinal()));
+		buffer.put((byte) 0).put((byte) 40);
+		buffer.put(ReplayWriter.END).put((byte) GameStatus.NotOverYet.ordinal());
+		return buffer.array();
+	}
+
+	private static byte[] withByte(byte[] bytes, int position, int value) {
+		byte[] changed = bytes.clone();
+		changed[position] = (byte) value;
+		return changed;
+	}
+}
@@ -0,0 +1,51 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*******************************************************************************
+ * Tests for ReplayWriter.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class ReplayWriterTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void finishedAndUnfinishedGamesAreBothWritten() throws IOException,
+			InterruptedException {
+		Path file = dir.resolve("replays.bin");
+		ReplayWriter writer = ReplayWriter.open(file);
+		MineSweeperGame game = new MineSweeperGame(9, 9, 10, 11);
+		game.setRecorder(writer.newRecorder());
+
+		// the first game is handed over when the second starts, and the
+		// second only when the file is closed
+		game.select(4, 4);
+		game.toggleFlag(0, 0);
+		long first = game.getSeed();
+		game.reset();
+		game.select(2, 2);
+		long second = game.getSeed();
+		writer.close();
+
+		try (ReplayPlayer player = new ReplayPlayer(file)) {
+			assertTrue(player.nextGame());
+			assertEquals(first, player.getSeed());
+			MineSweeperGame replayed = player.replay(false);
+			assertTrue(replayed.getBoard().isFlagged(0));
+
+			assertTrue(player.nextGame());
+			assertEquals(second, player.getSeed());
+			assertTrue(player.replay(false).getBoard().isExposed(2 * 9 + 2));
+			assertFalse(player.nextGame());
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*******************************************************************************
+ * Tests for SavedGame.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class SavedGameTest {
+
+	/** where the settings are in the file */
+	private static final int ROWS = 8;
+	private static final int MINES = 16;
+	private static final int MODE = 20;
+	private static final int STATUS = 29;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void loadsWhatWasSaved() throws IOException {
+		MineSweeperGame game = new MineSweeperGame(Topology.of(BoardShape.Hex, 12,
+				17), 30, 5, GenerationMode.Random);
+		game.select(6, 8);
+		game.toggleFlag(0, 0);
+		Path file = dir.resolve("game.bin");
+		SavedGame.save(game, file);
+
+		MineSweeperGame loaded = SavedGame.load(file);
+		assertEquals(BoardShape.Hex, loaded.getTopology().getShape());
+		assertEquals(game.getGameStatus(), loaded.getGameStatus());
+		for (int i = 0; i < game.getBoard().size(); i++)
+			assertEquals(game.getBoard().getState(i), loaded.getBoard().getState(i));
+	}
+
+	@Test
+	void corruptFilesFailAsIOException() throws IOException {
+		Path file = dir.resolve("game.bin");
+		SavedGame.save(new MineSweeperGame(9, 9, 10, 3), file);
+		byte[] good = Files.readAllBytes(file);
+
+		assertCorrupt(Arrays.copyOf(good, good.length - 1));
+		assertCorrupt(Arrays.copyOf(good, 20));
+		assertCorrupt(withInt(good, ROWS, -9));
+		assertCorrupt(withInt(good, ROWS, 1 << 30));
+		assertCorrupt(withInt(good, MINES, 11));
+		assertCorrupt(withByte(good, MODE, 0x7F));
+		assertCorrupt(withByte(good, MODE, BoardShape.Graph.ordinal() << 4));
+		assertCorrupt(withByte(good, STATUS, -1));
+	}
+
+	/***************************************************************************
+	 * Checks that loading the given bytes fails with an IOException
+	 **************************************************************************/
+	private void assertCorrupt(byte[] bytes) throws IOException {
+		Path file = dir.resolve("corrupt.bin");
+		Files.write(file, bytes);
+		assertThrows(IOException.class, () -> SavedGame.load(file));
+	}
+
+	private static byte[] withInt(byte[] bytes, int position, int value) {
+		byte[] changed = bytes.clone();
+		ByteBuffer.wrap(changed).putInt(position, value);
+		return changed;
+	}
+
+	private static byte[] withByte(byte[] bytes, int position, int value) {
+		byte[] changed = bytes.clone();
+		changed[position] = (byte) value;
+		return changed;
+	}
+}
@@ -0,0 +1,73 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/*******************************************************************************
+ * Tests for Solver.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class SolverTest {
+
+	@Test
+	void pairRuleFindsTheMinesOfAOneTwoOne() {
+		// 1 2 1 under three hidden cells; neither count alone settles any
+		Solver solver = new Solver(TestBoards.game(
+				"*#*",
+				"..."));
+
+		assertTrue(solver.isKnownMine(0, 0));
+		assertTrue(solver.isKnownSafe(0, 1));
+		assertTrue(solver.isKnownMine(0, 2));
+		assertEquals(2, solver.getKnownMineCount());
+	}
+
+	@Test
+	void pairRuleFindsTheSafeCellsOfOnesInARow() {
+		// 1 1 1 1: the middle ones share a mine with their end neighbors, so
+		// the cells only the middle ones see are safe
+		Solver solver = new Solver(TestBoards.game(
+				"*##*",
+				"...."));
+
+		assertTrue(solver.isKnownSafe(0, 1));
+		assertTrue(solver.isKnownSafe(0, 2));
+		assertTrue(solver.isKnownMine(0, 0));
+		assertTrue(solver.isKnownMine(0, 3));
+	}
+
+	@Test
+	void pairRuleLeavesARealGuessAlone() {
+		// a lone 1 between two hidden cells can't be settled
+		Solver solver = new Solver(TestBoards.game(
+				"*#",
+				".."));
+
+		assertFalse(solver.isKnownMine(0, 0));
+		assertFalse(solver.isKnownSafe(0, 1));
+		assertEquals(-1, solver.nextSafeCell());
+	}
+
+	@Test
+	void deductionsAreAlwaysRight() {
+		for (long seed = 0; seed < 200; seed++) {
+			MineSweeperGame game = new MineSweeperGame(16, 16, 40, seed);
+			Board board = game.getBoard();
+			Solver solver = new Solver(game);
+			solver.update(game.select(8, 8));
+
+			int index;
+			while (game.getGameStatus() == GameStatus.NotOverYet
+					&& (index = solver.nextSafeCell()) >= 0) {
+				assertFalse(board.isMine(index), "seed " + seed);
+				solver.update(game.select(index / 16, index % 16));
+			}
+			assertNotEquals(GameStatus.Lost, game.getGameStatus(), "seed " + seed);
+			for (int i = 0; i < board.size(); i++)
+				if (solver.isKnownMine(i / 16, i % 16))
+					assertTrue(board.isMine(i), "seed " + seed);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*******************************************************************************
+ * Tests for StatisticsStore.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class StatisticsStoreTest {
+
+	/** where the settings of the first record are in the file */
+	private static final int MODE = 21;
+	private static final int OUTCOME = 22;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void readsTheGamesInTheLog() throws IOException {
+		Path file = dir.resolve("good.log");
+		Files.write(file, log(GenerationMode.Random.ordinal(),
+				GameStatus.Won.ordinal()));
+
+		StatisticsStore store = StatisticsStore.open(file);
+		ConfigSummary summary = store.getSummary(9, 9, 10, GenerationMode.Random);
+		assertEquals(1, summary.getGames());
+		assertEquals(1, summary.getWins());
+		store.close();
+	}
+
+	@Test
+	void corruptLogsFailAsIOException() throws IOException {
+		byte[] good = log(GenerationMode.Random.ordinal(), GameStatus.Won.ordinal());
+
+		assertCorrupt(withByte(good, MODE, 0x7F), "mode");
+		assertCorrupt(withByte(good, MODE, -1), "negative mode");
+		assertCorrupt(withByte(good, OUTCOME, GameStatus.values().length), "outcome");
+		assertCorrupt(withByte(good, OUTCOME, -1), "negative outcome");
+	}
+
+	/***************************************************************************
+	 * Checks that opening the given bytes fails with an IOException
+	 **************************************************************************/
+	private void assertCorrupt(byte[] bytes, String name) throws IOException {
+		Path file = dir.resolve(name.replace(' ', '-') + ".log");
+		Files.write(file, bytes);
+		assertThrows(IOException.class, () -> StatisticsStore.open(file), name);
+	}
+
+	/***************************************************************************
+	 * Builds a log holding one game on a 9 by 9 board with 10 mines
+	 **************************************************************************/
+	private static byte[] log(int mode, int outcome) {
+		ByteBuffer buffer = ByteBuffer.allocate(8 + 39);
+		buffer.putInt(0x4D535354).putInt(1);
+		buffer.put((byte) 'G').putInt(9).putInt(9).putInt(10);
+		buffer.put((byte) mode).put((byte) outcome);
+		buffer.putLong(12345).putLong(40).putLong(0);
+		return buffer.array();
+	}
+
+	private static byte[] withByte(byte[] bytes, int position, int value) {
+		byte[] changed = bytes.clone();
+		changed[position] = (byte) value;
+		return changed;
+	}
+}
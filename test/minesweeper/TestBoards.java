@@ -0,0 +1,43 @@
+package minesweeper;
+
+/*******************************************************************************
+ * Builds games on boards drawn as text, one string to a row: * for a hidden
+ * mine, # for a hidden safe cell and . for an exposed safe cell.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+final class TestBoards {
+
+	private TestBoards() {
+	}
+
+	/***************************************************************************
+	 * Builds a game part way through on the board drawn
+	 *
+	 * @param rows
+	 *            the rows of the board
+	 * @return the game
+	 **************************************************************************/
+	static MineSweeperGame game(String... rows) {
+		int cols = rows[0].length();
+		Board board = new Board(rows.length, cols);
+		int mines = 0;
+		for (int r = 0; r < rows.length; r++) {
+			for (int c = 0; c < cols; c++) {
+				char cell = rows[r].charAt(c);
+				if (cell == '*') {
+					board.setMine(board.index(r, c), true);
+					mines++;
+				}
+			}
+		}
+		board.computeMinecounts();
+		for (int r = 0; r < rows.length; r++)
+			for (int c = 0; c < cols; c++)
+				if (rows[r].charAt(c) == '.')
+					board.setExposed(board.index(r, c), true);
+
+		return new MineSweeperGame(board, mines, 0, GenerationMode.Random,
+				GameStatus.NotOverYet, 0, 0);
+	}
+}
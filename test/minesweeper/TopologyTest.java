@@ -0,0 +1,87 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/*******************************************************************************
+ * Tests for Topology and the boards built on it.
+ *
+ * @version 18 October 2026
+ ******************************************************************************/
+class TopologyTest {
+
+	@Test
+	void largestBoardFitsWithoutNeighborTables() {
+		int size = MineSweeper.MAX_SIZE;
+		MineSweeperGame game = new MineSweeperGame(size, size, size * size / 10);
+		assertEquals((long) size * size, game.getBoard().size());
+
+		// the first select is always safe
+		game.select(size / 2, size / 2);
+		assertNotEquals(GameStatus.Lost, game.getGameStatus());
+	}
+
+	@Test
+	void squareNeighborsAreTheCellsAround() {
+		int[] around = new int[Topology.MAX_NEIGHBORS];
+		for (int rows = 1; rows <= 5; rows++) {
+			for (int cols = 1; cols <= 5; cols++) {
+				Topology topology = Topology.square(rows, cols);
+				for (int index = 0; index < rows * cols; index++) {
+					int count = topology.neighbors(index, around);
+					assertArrayEquals(cellsAround(index, rows, cols),
+							Arrays.copyOf(around, count), topology + " cell " + index);
+				}
+			}
+		}
+	}
+
+	@Test
+	void neighborsAreMutual() {
+		int[] around = new int[Topology.MAX_NEIGHBORS];
+		int[] back = new int[Topology.MAX_NEIGHBORS];
+		for (BoardShape shape : new BoardShape[] { BoardShape.Square,
+				BoardShape.Torus, BoardShape.Hex }) {
+			for (int rows = 1; rows <= 6; rows++) {
+				for (int cols = 1; cols <= 6; cols++) {
+					Topology topology = Topology.of(shape, rows, cols);
+					for (int i = 0; i < topology.size(); i++) {
+						int index = i;
+						int count = topology.neighbors(index, around);
+						for (int k = 0; k < count; k++) {
+							assertNotEquals(index, around[k]);
+							int backCount = topology.neighbors(around[k], back);
+							assertTrue(Arrays.stream(back, 0, backCount)
+									.anyMatch(n -> n == index), topology + " cell "
+									+ index);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void graphRejectsOneWayNeighbors() {
+		assertThrows(IllegalArgumentException.class,
+				() -> Topology.graph(1, 2, new int[][] { { 1 }, {} }));
+	}
+
+	/***************************************************************************
+	 * Lists the cells around a cell of a square board the long way
+	 **************************************************************************/
+	private static int[] cellsAround(int index, int rows, int cols) {
+		int r = index / cols;
+		int c = index % cols;
+		return Arrays.stream(new int[] { -1, 0, 1 })
+				.flatMap(dr -> Arrays.stream(new int[] { -1, 0, 1 })
+						.filter(dc -> dr != 0 || dc != 0)
+						.filter(dc -> r + dr >= 0 && r + dr < rows && c + dc >= 0
+								&& c + dc < cols)
+						.map(dc -> (r + dr) * cols + c + dc))
+				.toArray();
+	}
+}